@@ -0,0 +1,48 @@
+-- Compares primary key insert cost and index size for random vs time-ordered ids.
+-- Run against a scratch database:
+--   docker exec -i eaglebank-postgres psql -U postgres -d eaglebank -v rows=2000000 < scripts/id_insert_benchmark.sql
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 1000000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS id_bench CASCADE;
+CREATE SCHEMA id_bench;
+
+CREATE TABLE id_bench.random_ids (
+    id varchar(64) PRIMARY KEY,
+    amount numeric(12, 2) NOT NULL
+);
+
+CREATE TABLE id_bench.ordered_ids (
+    id varchar(64) PRIMARY KEY,
+    amount numeric(12, 2) NOT NULL
+);
+
+-- Same shape as the old UUID.randomUUID() ids: "tan-" plus 32 random hex digits.
+\echo 'random ids'
+INSERT INTO id_bench.random_ids (id, amount)
+SELECT 'tan-' || md5(random()::text || g::text), 1.00
+FROM generate_series(1, :rows) AS g;
+
+-- Same shape as TimeOrderedIds: 12 hex digits of millis, version 7, 3 hex digits of sequence, 16 random.
+\echo 'time-ordered ids'
+INSERT INTO id_bench.ordered_ids (id, amount)
+SELECT 'tan-'
+        || lpad(to_hex((extract(epoch FROM clock_timestamp()) * 1000)::bigint + g / 4096), 12, '0')
+        || '7'
+        || lpad(to_hex(g % 4096), 3, '0')
+        || substr(md5(random()::text), 1, 16),
+    1.00
+FROM generate_series(1, :rows) AS g;
+
+SELECT relname AS relation,
+    pg_size_pretty(pg_relation_size(oid)) AS size
+FROM pg_class
+WHERE relnamespace = 'id_bench'::regnamespace
+ORDER BY relname;
+
+DROP SCHEMA id_bench CASCADE;
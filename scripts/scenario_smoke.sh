@@ -121,6 +121,7 @@ JSON
 status="$(request POST "/v1/auth/login" "$auth_payload")"
 assert_status "Authenticate user" "$status" "200"
 token="$(json_get "$tmpdir/body.json" "accessToken")"
+refresh_token="$(json_get "$tmpdir/body.json" "refreshToken")"
 if [[ -z "$token" ]]; then
   echo "FAIL: Missing access token in auth response"
   exit 1
@@ -131,6 +132,17 @@ if [[ -z "$current_user_id" ]]; then
   exit 1
 fi
 
+echo "Scenario: Refresh tokens once, then log out"
+status="$(request POST "/v1/auth/refresh" "{\"refreshToken\":\"$refresh_token\"}")"
+assert_status "Refresh tokens" "$status" "200"
+refreshed_token="$(json_get "$tmpdir/body.json" "accessToken")"
+status="$(request POST "/v1/auth/refresh" "{\"refreshToken\":\"$refresh_token\"}")"
+assert_status "Reuse refresh token" "$status" "401"
+status="$(request POST "/v1/auth/logout" "" "$refreshed_token")"
+assert_status "Log out" "$status" "204"
+status="$(request GET "/v1/users/$current_user_id" "" "$refreshed_token")"
+assert_status "Use revoked access token" "$status" "401"
+
 echo "Scenario: Create another user for forbidden tests"
 other_email="other+$email_suffix@example.com"
 other_user_payload="$(cat <<JSON
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Load comparison of platform vs virtual request threads. Start the app once per mode with the per-user
+# rate limits raised so they don't cap the run, e.g.
+#   VIRTUAL_THREADS_ENABLED=false APP_RATELIMIT_READ_BURST=1000000 APP_RATELIMIT_WRITE_BURST=1000000 ./gradlew bootRun
+#   VIRTUAL_THREADS_ENABLED=true  APP_RATELIMIT_READ_BURST=1000000 APP_RATELIMIT_WRITE_BURST=1000000 ./gradlew bootRun
+# then run this script against each and compare the hey summaries. Requires hey (github.com/rakyll/hey).
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+DEFAULT_PASSWORD="${APP_USER_DEFAULT_PASSWORD:-password123}"
+CONCURRENCY="${CONCURRENCY:-1000}"
+REQUESTS="${REQUESTS:-50000}"
+
+if ! command -v hey >/dev/null 2>&1; then
+  echo "hey is required: go install github.com/rakyll/hey@latest"
+  exit 1
+fi
+
+json_field() {
+  python3 -c 'import json,sys; print(json.load(sys.stdin)[sys.argv[1]])' "$1"
+}
+
+email="load+$(date +%s)@example.com"
+curl -sS -o /dev/null -X POST "$BASE_URL/v1/users" -H "Content-Type: application/json" -d "$(cat <<JSON
+{
+  "name": "Load Test",
+  "address": {"line1": "1 High Street", "town": "London", "county": "Greater London", "postcode": "SW1A 1AA"},
+  "phoneNumber": "+447700900999",
+  "email": "$email"
+}
+JSON
+)"
+token="$(curl -sS -X POST "$BASE_URL/v1/auth/login" -H "Content-Type: application/json" \
+  -d "{\"email\":\"$email\",\"password\":\"$DEFAULT_PASSWORD\"}" | json_field accessToken)"
+account="$(curl -sS -X POST "$BASE_URL/v1/accounts" -H "Content-Type: application/json" \
+  -H "Authorization: Bearer $token" -d '{"name":"Load Test","accountType":"personal"}' | json_field accountNumber)"
+
+echo "== Writes: $REQUESTS deposits, $CONCURRENCY concurrent (row-lock contention + retry backoff)"
+hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST -T "application/json" \
+  -H "Authorization: Bearer $token" \
+  -d '{"amount":1.00,"currency":"GBP","type":"deposit"}' \
+  "$BASE_URL/v1/accounts/$account/transactions"
+
+echo "== Reads: $REQUESTS transaction pages, $CONCURRENCY concurrent"
+hey -n "$REQUESTS" -c "$CONCURRENCY" \
+  -H "Authorization: Bearer $token" \
+  "$BASE_URL/v1/accounts/$account/transactions"
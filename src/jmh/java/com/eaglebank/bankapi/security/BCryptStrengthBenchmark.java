@@ -0,0 +1,47 @@
+package com.eaglebank.bankapi.security;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Pick app.security.password.bcrypt-strength from this: one verify should stay well under the login latency budget.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BCryptStrengthBenchmark {
+	@Param({"10", "11", "12"})
+	int strength;
+
+	private BCryptPasswordEncoder encoder;
+	private String hash;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		encoder = new BCryptPasswordEncoder(strength);
+		hash = encoder.encode("password123");
+	}
+
+	@Benchmark
+	public String encode() {
+		return encoder.encode("password123");
+	}
+
+	@Benchmark
+	public boolean verify() {
+		return encoder.matches("password123", hash);
+	}
+}
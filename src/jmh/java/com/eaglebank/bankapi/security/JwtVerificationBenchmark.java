@@ -0,0 +1,43 @@
+package com.eaglebank.bankapi.security;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Full signature and claim parsing vs the verified-token cache the filter uses on repeat requests.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+	private JwtService jwtService;
+	private String token;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		jwtService = new JwtService("benchmark-secret-benchmark-secret-benchmark", 3600, 10_000);
+		token = jwtService.generateToken("alice@example.com", "usr-1");
+		jwtService.verify(token);
+	}
+
+	@Benchmark
+	public Object parse() {
+		return jwtService.parseToken(token);
+	}
+
+	@Benchmark
+	public AccessToken cached() {
+		return jwtService.verify(token);
+	}
+}
@@ -2,10 +2,16 @@ package com.eaglebank.bankapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// Login goes through LoginService; without this exclude Boot registers an in-memory user with a generated password.
+@SpringBootApplication(exclude = UserDetailsServiceAutoConfiguration.class)
 @EnableRetry
+@EnableAsync
+@EnableScheduling
 public class EagleBankApplication {
 
 	public static void main(String[] args) {
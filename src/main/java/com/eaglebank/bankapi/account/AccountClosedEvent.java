@@ -0,0 +1,4 @@
+package com.eaglebank.bankapi.account;
+
+public record AccountClosedEvent(String accountNumber) {
+}
@@ -1,8 +1,11 @@
 package com.eaglebank.bankapi.account;
 
+import com.eaglebank.bankapi.web.ETags;
+import com.eaglebank.bankapi.web.Tagged;
 import com.eaglebank.generated.api.AccountApi;
 import com.eaglebank.generated.model.BankAccountResponse;
 import com.eaglebank.generated.model.CreateBankAccountRequest;
+import com.eaglebank.generated.model.ListAccountSummariesResponse;
 import com.eaglebank.generated.model.ListBankAccountsResponse;
 import com.eaglebank.generated.model.UpdateBankAccountRequest;
 import org.springframework.http.HttpStatus;
@@ -29,8 +32,21 @@ public class AccountController implements AccountApi {
 	}
 
 	@Override
-	public ResponseEntity<BankAccountResponse> fetchAccountByAccountNumber(String accountNumber) {
-		return ResponseEntity.ok(accountService.fetchByAccountNumber(accountNumber));
+	public ResponseEntity<ListAccountSummariesResponse> listAccountSummaries() {
+		return ResponseEntity.ok(accountService.listSummaries());
+	}
+
+	@Override
+	public ResponseEntity<BankAccountResponse> fetchAccountByAccountNumber(String accountNumber, String ifNoneMatch) {
+		if (ifNoneMatch != null) {
+			// Only the version column is read, so an unchanged account skips the full load and mapping.
+			String etag = accountService.fetchETag(accountNumber);
+			if (ETags.matches(ifNoneMatch, etag)) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+			}
+		}
+		Tagged<BankAccountResponse> account = accountService.fetchByAccountNumber(accountNumber);
+		return ResponseEntity.ok().eTag(account.etag()).body(account.body());
 	}
 
 	@Override
@@ -1,28 +1,28 @@
 package com.eaglebank.bankapi.account;
 
-import com.eaglebank.bankapi.transaction.TransactionEntity;
 import com.eaglebank.bankapi.user.UserEntity;
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.util.List;
 
 @Entity
 @Table(name = "accounts")
+// Closed accounts are invisible to the app while AccountPurger removes their rows.
+@SQLRestriction("closed_timestamp is null")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,7 +31,7 @@ public class AccountEntity {
     @Column(name = "id", nullable = false, length = 8)
     private String id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
@@ -62,6 +62,6 @@ public class AccountEntity {
     @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
     private Long version;
 
-    @OneToMany(mappedBy = "account", cascade = CascadeType.REMOVE, orphanRemoval = true)
-    private List<TransactionEntity> transactions;
+    @Column(name = "closed_timestamp")
+    private OffsetDateTime closedTimestamp;
 }
@@ -1,5 +1,6 @@
 package com.eaglebank.bankapi.account;
 
+import com.eaglebank.generated.model.AccountSummaryResponse;
 import com.eaglebank.generated.model.BankAccountResponse;
 import com.eaglebank.generated.model.CreateBankAccountRequest;
 import com.eaglebank.generated.model.UpdateBankAccountRequest;
@@ -20,7 +21,7 @@ public interface AccountMapper {
 	@Mapping(target = "createdTimestamp", ignore = true)
 	@Mapping(target = "updatedTimestamp", ignore = true)
 	@Mapping(target = "version", ignore = true)
-	@Mapping(target = "transactions", ignore = true)
+	@Mapping(target = "closedTimestamp", ignore = true)
 	@Mapping(target = "accountType", source = "accountType", qualifiedByName = "createAccountTypeToValue")
 	AccountEntity toEntity(CreateBankAccountRequest request);
 
@@ -33,7 +34,7 @@ public interface AccountMapper {
 	@Mapping(target = "createdTimestamp", ignore = true)
 	@Mapping(target = "updatedTimestamp", ignore = true)
 	@Mapping(target = "version", ignore = true)
-	@Mapping(target = "transactions", ignore = true)
+	@Mapping(target = "closedTimestamp", ignore = true)
 	@Mapping(target = "accountType", source = "accountType", qualifiedByName = "updateAccountTypeToValue")
 	void updateEntity(UpdateBankAccountRequest request, @MappingTarget AccountEntity entity);
 
@@ -43,6 +44,16 @@ public interface AccountMapper {
 	@Mapping(target = "currency", source = "currency", qualifiedByName = "currencyFromValue")
 	BankAccountResponse toResponse(AccountEntity entity);
 
+	@Mapping(target = "accountNumber", source = "id")
+	@Mapping(target = "sortCode", source = "sortCode", qualifiedByName = "sortCodeFromValue")
+	@Mapping(target = "accountType", source = "accountType", qualifiedByName = "accountTypeFromValue")
+	@Mapping(target = "currency", source = "currency", qualifiedByName = "currencyFromValue")
+	BankAccountResponse toResponse(AccountView view);
+
+	@Mapping(target = "accountNumber", source = "id")
+	@Mapping(target = "currency", source = "currency", qualifiedByName = "summaryCurrencyFromValue")
+	AccountSummaryResponse toSummaryResponse(AccountSummaryEntity summary);
+
 	@Named("createAccountTypeToValue")
 	static String createAccountTypeToValue(CreateBankAccountRequest.AccountTypeEnum type) {
 		return type == null ? null : type.getValue();
@@ -63,6 +74,11 @@ public interface AccountMapper {
 		return value == null ? null : BankAccountResponse.CurrencyEnum.fromValue(value);
 	}
 
+	@Named("summaryCurrencyFromValue")
+	static AccountSummaryResponse.CurrencyEnum summaryCurrencyFromValue(String value) {
+		return value == null ? null : AccountSummaryResponse.CurrencyEnum.fromValue(value);
+	}
+
 	@Named("sortCodeFromValue")
 	static BankAccountResponse.SortCodeEnum sortCodeFromValue(String value) {
 		return value == null ? null : BankAccountResponse.SortCodeEnum.fromValue(value);
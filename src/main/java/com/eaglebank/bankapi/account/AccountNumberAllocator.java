@@ -0,0 +1,78 @@
+package com.eaglebank.bankapi.account;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountNumberAllocator {
+	static final String SEQUENCE = "account_number_seq";
+	private static final String PREFIX = "01";
+	private static final int MAX_SUFFIX = 999_999;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+	private final ReentrantLock refillLock = new ReentrantLock();
+	private volatile int blockSize;
+
+	public AccountNumberAllocator(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public String next() {
+		while (true) {
+			Block block = current.get();
+			int suffix = block.take();
+			if (suffix >= 0) {
+				return PREFIX + String.format("%06d", suffix);
+			}
+			refill(block);
+		}
+	}
+
+	private void refill(Block exhausted) {
+		refillLock.lock();
+		try {
+			if (current.get() != exhausted) {
+				return;
+			}
+			// The sequence hands out the first number of each block; its increment is the block size,
+			// so every node reserves disjoint ranges without coordinating with the others.
+			int start = jdbcTemplate.queryForObject("select nextval('" + SEQUENCE + "')", Long.class).intValue();
+			int end = Math.min(start + blockSize(), MAX_SUFFIX + 1);
+			current.set(new Block(start, end));
+		} finally {
+			refillLock.unlock();
+		}
+	}
+
+	private int blockSize() {
+		if (blockSize == 0) {
+			blockSize = jdbcTemplate.queryForObject(
+					"select increment_by from pg_sequences where sequencename = ?",
+					Long.class,
+					SEQUENCE
+			).intValue();
+		}
+		return blockSize;
+	}
+
+	private static final class Block {
+		private static final Block EMPTY = new Block(0, 0);
+
+		private final AtomicInteger next;
+		private final int end;
+
+		private Block(int start, int end) {
+			this.next = new AtomicInteger(start);
+			this.end = end;
+		}
+
+		private int take() {
+			int suffix = next.getAndIncrement();
+			return suffix < end ? suffix : -1;
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package com.eaglebank.bankapi.account;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class AccountOwnerCache {
+	private static final int WAYS = 4;
+	private static final int EMPTY = 0;
+
+	private final AccountRepository accountRepository;
+	private final int[] keys;
+	private final String[] owners;
+	private final byte[] victims;
+	private final int setMask;
+	private final StampedLock lock = new StampedLock();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private int size;
+
+	public AccountOwnerCache(
+			AccountRepository accountRepository,
+			MeterRegistry meterRegistry,
+			@Value("${app.accounts.owner-cache.capacity:65536}") int capacity
+	) {
+		this.accountRepository = accountRepository;
+		int sets = Integer.highestOneBit(Math.max(capacity / WAYS, 1));
+		this.keys = new int[sets * WAYS];
+		this.owners = new String[sets * WAYS];
+		this.victims = new byte[sets];
+		this.setMask = sets - 1;
+
+		FunctionCounter.builder("account.owner.cache.requests", hits, LongAdder::sum)
+				.tag("result", "hit")
+				.register(meterRegistry);
+		FunctionCounter.builder("account.owner.cache.requests", misses, LongAdder::sum)
+				.tag("result", "miss")
+				.register(meterRegistry);
+		Gauge.builder("account.owner.cache.size", this, cache -> cache.size)
+				.register(meterRegistry);
+	}
+
+	public Optional<String> ownerOf(String accountNumber) {
+		int key = key(accountNumber);
+		if (key == EMPTY) {
+			return accountRepository.findOwnerIdById(accountNumber);
+		}
+
+		String cached = get(key);
+		if (cached != null) {
+			hits.increment();
+			return Optional.of(cached);
+		}
+		misses.increment();
+		Optional<String> owner = accountRepository.findOwnerIdById(accountNumber);
+		owner.ifPresent(ownerId -> put(key, ownerId));
+		return owner;
+	}
+
+	// Evicting before commit would let a concurrent lookup still see the open row and cache it again.
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onAccountClosed(AccountClosedEvent event) {
+		invalidate(event.accountNumber());
+	}
+
+	public void invalidate(String accountNumber) {
+		int key = key(accountNumber);
+		if (key == EMPTY) {
+			return;
+		}
+		int base = base(key);
+		long stamp = lock.writeLock();
+		try {
+			for (int way = 0; way < WAYS; way++) {
+				if (keys[base + way] == key) {
+					keys[base + way] = EMPTY;
+					owners[base + way] = null;
+					size--;
+				}
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	private String get(int key) {
+		int base = base(key);
+		long stamp = lock.tryOptimisticRead();
+		String owner = probe(key, base);
+		if (lock.validate(stamp)) {
+			return owner;
+		}
+		stamp = lock.readLock();
+		try {
+			return probe(key, base);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	private void put(int key, String ownerId) {
+		int base = base(key);
+		int set = base / WAYS;
+		long stamp = lock.writeLock();
+		try {
+			int free = -1;
+			for (int way = 0; way < WAYS; way++) {
+				if (keys[base + way] == key) {
+					owners[base + way] = ownerId;
+					return;
+				}
+				if (free < 0 && keys[base + way] == EMPTY) {
+					free = way;
+				}
+			}
+			if (free < 0) {
+				// Set is full: evict round-robin so a hot set cannot pin stale entries forever.
+				free = victims[set];
+				victims[set] = (byte) ((free + 1) % WAYS);
+			} else {
+				size++;
+			}
+			keys[base + free] = key;
+			owners[base + free] = ownerId;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	private String probe(int key, int base) {
+		for (int way = 0; way < WAYS; way++) {
+			if (keys[base + way] == key) {
+				return owners[base + way];
+			}
+		}
+		return null;
+	}
+
+	private int base(int key) {
+		int hash = key * 0x9E3779B9;
+		return ((hash ^ (hash >>> 16)) & setMask) * WAYS;
+	}
+
+	// Account numbers are "01" plus six digits, so the whole number parses to 1_000_000..1_999_999
+	// and never collides with the EMPTY marker.
+	static int key(String accountNumber) {
+		if (accountNumber == null || accountNumber.length() != 8
+				|| accountNumber.charAt(0) != '0' || accountNumber.charAt(1) != '1') {
+			return EMPTY;
+		}
+		int value = 0;
+		for (int i = 0; i < 8; i++) {
+			int digit = accountNumber.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return EMPTY;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+}
@@ -0,0 +1,77 @@
+package com.eaglebank.bankapi.account;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class AccountPurger {
+	private static final int SWEEP_BATCH = 100;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final int chunkSize;
+
+	public AccountPurger(
+			JdbcTemplate jdbcTemplate,
+			@Value("${app.accounts.purge.chunk-size:1000}") int chunkSize
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.chunkSize = chunkSize;
+	}
+
+	@Async
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onAccountClosed(AccountClosedEvent event) {
+		purge(event.accountNumber());
+	}
+
+	// Catches accounts whose purge was cut short by a restart or a failed chunk.
+	@Scheduled(fixedDelayString = "${app.accounts.purge.sweep-interval:PT5M}")
+	public void sweep() {
+		jdbcTemplate.queryForList(
+				"select id from accounts where closed_timestamp is not null order by closed_timestamp limit ?",
+				String.class,
+				SWEEP_BATCH
+		).forEach(this::purge);
+		// A user deleted while its last account was mid-purge is left with no account to trigger it.
+		jdbcTemplate.update("""
+				delete from users u where u.deleted_timestamp is not null
+					and not exists (select 1 from accounts a where a.user_id = u.id)
+				""");
+	}
+
+	void purge(String accountNumber) {
+		// Each chunk commits on its own, so no statement holds locks or WAL for a whole account's history.
+		deleteInChunks("""
+				delete from transactions where (id, created_timestamp) in (
+					select id, created_timestamp from transactions where account_id = ? limit ?
+				)
+				""", accountNumber);
+		deleteInChunks("""
+				delete from transactions_archive where id in (
+					select id from transactions_archive where account_id = ? limit ?
+				)
+				""", accountNumber);
+		// The outer delete still sees the account row, so it is excluded by id. The owner row goes with its last
+		// account only if UserService already marked it deleted.
+		jdbcTemplate.update("""
+				with closed as (
+					delete from accounts where id = ? and closed_timestamp is not null returning user_id
+				)
+				delete from users u using closed
+				where u.id = closed.user_id and u.deleted_timestamp is not null
+					and not exists (select 1 from accounts a where a.user_id = u.id and a.id <> ?)
+				""", accountNumber, accountNumber);
+	}
+
+	private void deleteInChunks(String sql, String accountNumber) {
+		int deleted;
+		do {
+			deleted = jdbcTemplate.update(sql, accountNumber, chunkSize);
+		} while (deleted == chunkSize);
+	}
+}
@@ -1,8 +1,72 @@
 package com.eaglebank.bankapi.account;
 
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AccountRepository extends JpaRepository<AccountEntity, String> {
-	List<AccountEntity> findAllByUser_Id(String userId);
+	@Query("""
+			select new com.eaglebank.bankapi.account.AccountView(
+				a.id, a.user.id, a.sortCode, a.name, a.accountType, a.balance, a.currency,
+				a.createdTimestamp, a.updatedTimestamp, a.version
+			)
+			from AccountEntity a
+			where a.user.id = :userId
+			order by a.createdTimestamp asc, a.id asc
+			""")
+	List<AccountView> findViewsByUserId(@Param("userId") String userId);
+
+	@Query("""
+			select new com.eaglebank.bankapi.account.AccountView(
+				a.id, a.user.id, a.sortCode, a.name, a.accountType, a.balance, a.currency,
+				a.createdTimestamp, a.updatedTimestamp, a.version
+			)
+			from AccountEntity a
+			where a.id = :id
+			""")
+	Optional<AccountView> findViewById(@Param("id") String id);
+
+	@Query("select new com.eaglebank.bankapi.account.AccountVersion(a.user.id, a.version) from AccountEntity a where a.id = :id")
+	Optional<AccountVersion> findVersionById(@Param("id") String id);
+
+	@Query("select a.user.id from AccountEntity a where a.id = :id")
+	Optional<String> findOwnerIdById(@Param("id") String id);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select a from AccountEntity a where a.id = :id")
+	Optional<AccountEntity> findByIdForUpdate(@Param("id") String id);
+
+	@Query("select a.balance from AccountEntity a where a.id = :id")
+	BigDecimal findBalanceById(@Param("id") String id);
+
+	@Modifying
+	@Query("""
+			update AccountEntity a
+			set a.balance = a.balance + :amount, a.version = a.version + 1, a.updatedTimestamp = :now
+			where a.id = :id and a.closedTimestamp is null
+			""")
+	int credit(@Param("id") String id, @Param("amount") BigDecimal amount, @Param("now") OffsetDateTime now);
+
+	@Modifying
+	@Query("""
+			update AccountEntity a
+			set a.balance = a.balance - :amount, a.version = a.version + 1, a.updatedTimestamp = :now
+			where a.id = :id and a.balance >= :amount and a.closedTimestamp is null
+			""")
+	int debit(@Param("id") String id, @Param("amount") BigDecimal amount, @Param("now") OffsetDateTime now);
+
+	@Modifying
+	@Query("""
+			update AccountEntity a
+			set a.closedTimestamp = :now, a.version = a.version + 1, a.updatedTimestamp = :now
+			where a.id = :id and a.closedTimestamp is null
+			""")
+	int close(@Param("id") String id, @Param("now") OffsetDateTime now);
 }
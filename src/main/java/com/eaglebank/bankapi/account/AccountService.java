@@ -1,16 +1,24 @@
 package com.eaglebank.bankapi.account;
 
 import com.eaglebank.bankapi.error.NotFoundException;
+import com.eaglebank.bankapi.outbox.OutboxWriter;
 import com.eaglebank.bankapi.security.CurrentUserService;
+import com.eaglebank.bankapi.web.ETags;
+import com.eaglebank.bankapi.web.Tagged;
 import com.eaglebank.bankapi.user.UserEntity;
 import com.eaglebank.bankapi.user.UserRepository;
+import com.eaglebank.generated.model.AccountSummaryResponse;
 import com.eaglebank.generated.model.BankAccountResponse;
 import com.eaglebank.generated.model.CreateBankAccountRequest;
+import com.eaglebank.generated.model.ListAccountSummariesResponse;
 import com.eaglebank.generated.model.ListBankAccountsResponse;
 import com.eaglebank.generated.model.UpdateBankAccountRequest;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Map;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,17 +32,29 @@ public class AccountService {
 	private final AccountMapper accountMapper;
 	private final CurrentUserService currentUserService;
 	private final UserRepository userRepository;
+	private final AccountNumberAllocator accountNumberAllocator;
+	private final OutboxWriter outboxWriter;
+	private final AccountSummaryRepository accountSummaryRepository;
+	private final ApplicationEventPublisher eventPublisher;
 
 	public AccountService(
 			AccountRepository accountRepository,
 			AccountMapper accountMapper,
 			CurrentUserService currentUserService,
-			UserRepository userRepository
+			UserRepository userRepository,
+			AccountNumberAllocator accountNumberAllocator,
+			OutboxWriter outboxWriter,
+			AccountSummaryRepository accountSummaryRepository,
+			ApplicationEventPublisher eventPublisher
 	) {
 		this.accountRepository = accountRepository;
 		this.accountMapper = accountMapper;
 		this.currentUserService = currentUserService;
 		this.userRepository = userRepository;
+		this.accountNumberAllocator = accountNumberAllocator;
+		this.outboxWriter = outboxWriter;
+		this.accountSummaryRepository = accountSummaryRepository;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Transactional
@@ -43,19 +63,22 @@ public class AccountService {
 		UserEntity user = userRepository.findById(userId)
 				.orElseThrow(() -> new NotFoundException("User was not found"));
 		AccountEntity entity = accountMapper.toEntity(request);
-		entity.setId(generateAccountNumber());
+		entity.setId(accountNumberAllocator.next());
 		entity.setUser(user);
 		entity.setSortCode(DEFAULT_SORT_CODE);
 		entity.setBalance(BigDecimal.ZERO);
 		entity.setCurrency(DEFAULT_CURRENCY);
 		AccountEntity saved = accountRepository.save(entity);
-		return accountMapper.toResponse(saved);
+		accountSummaryRepository.save(AccountSummaryEntity.opened(saved));
+		BankAccountResponse response = accountMapper.toResponse(saved);
+		outboxWriter.append("account", saved.getId(), "account.created", response);
+		return response;
 	}
 
 	@Transactional(readOnly = true)
 	public ListBankAccountsResponse list() {
 		String userId = currentUserService.getCurrentUserId();
-		List<BankAccountResponse> accounts = accountRepository.findAllByUser_Id(userId)
+		List<BankAccountResponse> accounts = accountRepository.findViewsByUserId(userId)
 				.stream()
 				.map(accountMapper::toResponse)
 				.toList();
@@ -63,11 +86,30 @@ public class AccountService {
 	}
 
 	@Transactional(readOnly = true)
-	public BankAccountResponse fetchByAccountNumber(String accountNumber) {
-		AccountEntity entity = accountRepository.findById(accountNumber)
+	public ListAccountSummariesResponse listSummaries() {
+		String userId = currentUserService.getCurrentUserId();
+		LocalDate currentMonth = AccountSummaryEntity.monthStart(OffsetDateTime.now());
+		List<AccountSummaryResponse> summaries = accountSummaryRepository.findAllByUserIdOrderById(userId)
+				.stream()
+				.map(summary -> toSummaryResponse(summary, currentMonth))
+				.toList();
+		return new ListAccountSummariesResponse().summaries(summaries);
+	}
+
+	@Transactional(readOnly = true)
+	public String fetchETag(String accountNumber) {
+		AccountVersion version = accountRepository.findVersionById(accountNumber)
+				.orElseThrow(() -> new NotFoundException("Bank account was not found"));
+		validateReadAccess(version.userId());
+		return ETags.ofVersion(version.version());
+	}
+
+	@Transactional(readOnly = true)
+	public Tagged<BankAccountResponse> fetchByAccountNumber(String accountNumber) {
+		AccountView view = accountRepository.findViewById(accountNumber)
 				.orElseThrow(() -> new NotFoundException("Bank account was not found"));
-		validateOwnership(entity, "The user is not allowed to access the bank account details");
-		return accountMapper.toResponse(entity);
+		validateReadAccess(view.userId());
+		return new Tagged<>(ETags.ofVersion(view.version()), accountMapper.toResponse(view));
 	}
 
 	@Transactional
@@ -77,26 +119,44 @@ public class AccountService {
 		validateOwnership(entity, "The user is not allowed to update the bank account details");
 		accountMapper.updateEntity(request, entity);
 		AccountEntity saved = accountRepository.save(entity);
-		return accountMapper.toResponse(saved);
+		BankAccountResponse response = accountMapper.toResponse(saved);
+		outboxWriter.append("account", saved.getId(), "account.updated", response);
+		return response;
 	}
 
 	@Transactional
 	public void deleteByAccountNumber(String accountNumber) {
-		AccountEntity entity = accountRepository.findById(accountNumber)
+		String ownerId = accountRepository.findOwnerIdById(accountNumber)
 				.orElseThrow(() -> new NotFoundException("Bank account was not found"));
-		validateOwnership(entity, "The user is not allowed to delete the bank account details");
-		accountRepository.delete(entity);
+		validateOwner(ownerId, "The user is not allowed to delete the bank account details");
+		// Closing is one row update; the account's transactions are purged after commit, off the request thread.
+		accountRepository.close(accountNumber, OffsetDateTime.now());
+		accountSummaryRepository.deleteById(accountNumber);
+		eventPublisher.publishEvent(new AccountClosedEvent(accountNumber));
+		outboxWriter.append("account", accountNumber, "account.deleted", Map.of("accountNumber", accountNumber));
+	}
+
+	private AccountSummaryResponse toSummaryResponse(AccountSummaryEntity summary, LocalDate currentMonth) {
+		AccountSummaryResponse response = accountMapper.toSummaryResponse(summary);
+		// Totals are only reset by the next posting, so a quiet account still carries last month's figures.
+		if (!currentMonth.equals(summary.getMonthStart())) {
+			response.monthStart(currentMonth).monthToDateIn(BigDecimal.ZERO).monthToDateOut(BigDecimal.ZERO);
+		}
+		return response;
+	}
+
+	private void validateReadAccess(String ownerId) {
+		validateOwner(ownerId, "The user is not allowed to access the bank account details");
 	}
 
 	private void validateOwnership(AccountEntity entity, String message) {
+		validateOwner(entity.getUser().getId(), message);
+	}
+
+	private void validateOwner(String ownerId, String message) {
 		String userId = currentUserService.getCurrentUserId();
-		if (!userId.equals(entity.getUser().getId())) {
+		if (!userId.equals(ownerId)) {
 			throw new AccessDeniedException(message);
 		}
 	}
-
-	private static String generateAccountNumber() {
-		int suffix = ThreadLocalRandom.current().nextInt(0, 1_000_000);
-		return "01" + String.format("%06d", suffix);
-	}
 }
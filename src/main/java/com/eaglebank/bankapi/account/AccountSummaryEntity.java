@@ -0,0 +1,90 @@
+package com.eaglebank.bankapi.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "account_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AccountSummaryEntity implements Persistable<String> {
+	@Id
+	@Column(name = "account_id", nullable = false, length = 8)
+	private String id;
+
+	@Column(name = "user_id", nullable = false, length = 64)
+	private String userId;
+
+	@Column(name = "balance", nullable = false, precision = 12, scale = 2)
+	private BigDecimal balance;
+
+	@Column(name = "currency", nullable = false, length = 3)
+	private String currency;
+
+	@Column(name = "transaction_count", nullable = false)
+	private long transactionCount;
+
+	@Column(name = "last_transaction_timestamp")
+	private OffsetDateTime lastTransactionTimestamp;
+
+	@Column(name = "month_start", nullable = false)
+	private LocalDate monthStart;
+
+	@Column(name = "month_to_date_in", nullable = false, precision = 14, scale = 2)
+	private BigDecimal monthToDateIn;
+
+	@Column(name = "month_to_date_out", nullable = false, precision = 14, scale = 2)
+	private BigDecimal monthToDateOut;
+
+	@Column(name = "updated_timestamp", nullable = false)
+	@UpdateTimestamp
+	private OffsetDateTime updatedTimestamp;
+
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean newEntity = true;
+
+	static AccountSummaryEntity opened(AccountEntity account) {
+		AccountSummaryEntity summary = new AccountSummaryEntity();
+		summary.setId(account.getId());
+		summary.setUserId(account.getUser().getId());
+		summary.setBalance(account.getBalance());
+		summary.setCurrency(account.getCurrency());
+		summary.setMonthStart(monthStart(OffsetDateTime.now()));
+		summary.setMonthToDateIn(BigDecimal.ZERO);
+		summary.setMonthToDateOut(BigDecimal.ZERO);
+		return summary;
+	}
+
+	public static LocalDate monthStart(OffsetDateTime at) {
+		return at.atZoneSameInstant(ZoneOffset.UTC).toLocalDate().withDayOfMonth(1);
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		newEntity = false;
+	}
+}
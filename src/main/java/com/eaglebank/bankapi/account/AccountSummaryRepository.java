@@ -0,0 +1,37 @@
+package com.eaglebank.bankapi.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AccountSummaryRepository extends JpaRepository<AccountSummaryEntity, String> {
+	List<AccountSummaryEntity> findAllByUserIdOrderById(String userId);
+
+	// Totals restart when the first posting of a new month arrives; readers zero out a stale month themselves.
+	@Modifying
+	@Query("""
+			update AccountSummaryEntity s set
+				s.balance = :balance,
+				s.transactionCount = s.transactionCount + :count,
+				s.lastTransactionTimestamp = :at,
+				s.monthToDateIn = case when s.monthStart = :monthStart then s.monthToDateIn + :credited else :credited end,
+				s.monthToDateOut = case when s.monthStart = :monthStart then s.monthToDateOut + :debited else :debited end,
+				s.monthStart = :monthStart,
+				s.updatedTimestamp = :at
+			where s.id = :accountId
+			""")
+	int recordPostings(
+			@Param("accountId") String accountId,
+			@Param("balance") BigDecimal balance,
+			@Param("count") long count,
+			@Param("at") OffsetDateTime at,
+			@Param("monthStart") LocalDate monthStart,
+			@Param("credited") BigDecimal credited,
+			@Param("debited") BigDecimal debited
+	);
+}
@@ -0,0 +1,18 @@
+package com.eaglebank.bankapi.account;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+public record AccountView(
+		String id,
+		String userId,
+		String sortCode,
+		String name,
+		String accountType,
+		BigDecimal balance,
+		String currency,
+		OffsetDateTime createdTimestamp,
+		OffsetDateTime updatedTimestamp,
+		Long version
+) {
+}
@@ -1,32 +1,35 @@
 package com.eaglebank.bankapi.auth;
 
+import com.eaglebank.bankapi.security.CurrentUserService;
 import com.eaglebank.bankapi.security.JwtService;
-import com.eaglebank.bankapi.user.UserEntity;
-import com.eaglebank.bankapi.user.UserRepository;
 import com.eaglebank.generated.api.AuthApi;
 import com.eaglebank.generated.model.AuthRequest;
 import com.eaglebank.generated.model.AuthResponse;
+import com.eaglebank.generated.model.RefreshTokenRequest;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class AuthController implements AuthApi {
-	private final AuthenticationManager authenticationManager;
+	private final LoginService loginService;
+	private final RefreshTokenService refreshTokenService;
+	private final CurrentUserService currentUserService;
 	private final JwtService jwtService;
-	private final UserRepository userRepository;
+	private final HttpServletRequest request;
 
 	public AuthController(
-			AuthenticationManager authenticationManager,
+			LoginService loginService,
+			RefreshTokenService refreshTokenService,
+			CurrentUserService currentUserService,
 			JwtService jwtService,
-			UserRepository userRepository
+			HttpServletRequest request
 	) {
-		this.authenticationManager = authenticationManager;
+		this.loginService = loginService;
+		this.refreshTokenService = refreshTokenService;
+		this.currentUserService = currentUserService;
 		this.jwtService = jwtService;
-		this.userRepository = userRepository;
+		this.request = request;
 	}
 
 	@Override
@@ -37,25 +40,30 @@ public class AuthController implements AuthApi {
 			return ResponseEntity.badRequest().build();
 		}
 
-		try {
-			authenticationManager.authenticate(
-					new UsernamePasswordAuthenticationToken(
-							authRequest.getEmail(),
-							authRequest.getPassword()
-					)
-			);
-		} catch (AuthenticationException ex) {
-			throw new AuthenticationCredentialsNotFoundException("Invalid email or password");
+		IssuedTokens tokens = loginService.login(authRequest.getEmail(), authRequest.getPassword(), request.getRemoteAddr());
+		return ResponseEntity.ok(toResponse(tokens));
+	}
+
+	@Override
+	public ResponseEntity<AuthResponse> refreshAccessToken(RefreshTokenRequest refreshTokenRequest) {
+		if (refreshTokenRequest == null || refreshTokenRequest.getRefreshToken() == null) {
+			return ResponseEntity.badRequest().build();
 		}
 
-		UserEntity user = userRepository.findByEmail(authRequest.getEmail())
-				.orElseThrow(() -> new AuthenticationCredentialsNotFoundException("Invalid email or password"));
+		return ResponseEntity.ok(toResponse(refreshTokenService.refresh(refreshTokenRequest.getRefreshToken())));
+	}
+
+	@Override
+	public ResponseEntity<Void> logoutUser() {
+		refreshTokenService.logout(currentUserService.getCurrentUserId(), currentUserService.getCurrentAccessToken());
+		return ResponseEntity.noContent().build();
+	}
 
-		String token = jwtService.generateToken(authRequest.getEmail(), user.getId());
-		AuthResponse response = new AuthResponse()
-				.accessToken(token)
+	private AuthResponse toResponse(IssuedTokens tokens) {
+		return new AuthResponse()
+				.accessToken(tokens.accessToken())
+				.refreshToken(tokens.refreshToken())
 				.tokenType("Bearer")
 				.expiresIn(jwtService.getExpirationSeconds());
-		return ResponseEntity.ok(response);
 	}
 }
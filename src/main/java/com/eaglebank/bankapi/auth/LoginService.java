@@ -0,0 +1,47 @@
+package com.eaglebank.bankapi.auth;
+
+import com.eaglebank.bankapi.user.UserCredentials;
+import com.eaglebank.bankapi.user.UserRepository;
+import java.util.UUID;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LoginService {
+	static final String INVALID_CREDENTIALS_MESSAGE = "Invalid email or password";
+
+	private final UserRepository userRepository;
+	private final PasswordEncoder passwordEncoder;
+	private final RefreshTokenService refreshTokenService;
+	private final LoginThrottle loginThrottle;
+	private final String dummyHash;
+
+	public LoginService(
+			UserRepository userRepository,
+			PasswordEncoder passwordEncoder,
+			RefreshTokenService refreshTokenService,
+			LoginThrottle loginThrottle
+	) {
+		this.userRepository = userRepository;
+		this.passwordEncoder = passwordEncoder;
+		this.refreshTokenService = refreshTokenService;
+		this.loginThrottle = loginThrottle;
+		this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+	}
+
+	public IssuedTokens login(String email, String password, String clientAddress) {
+		loginThrottle.check(email, clientAddress);
+
+		// One lookup, no transaction: the connection goes back to the pool before BCrypt runs.
+		UserCredentials credentials = userRepository.findCredentialsByEmail(email)
+				.filter(found -> found.passwordHash() != null && !found.passwordHash().isBlank())
+				.orElse(null);
+		// Unknown emails still pay for a verify so response time doesn't reveal which addresses exist.
+		String hash = credentials != null ? credentials.passwordHash() : dummyHash;
+		if (!passwordEncoder.matches(password, hash) || credentials == null) {
+			throw new AuthenticationCredentialsNotFoundException(INVALID_CREDENTIALS_MESSAGE);
+		}
+		return refreshTokenService.issue(email, credentials.id());
+	}
+}
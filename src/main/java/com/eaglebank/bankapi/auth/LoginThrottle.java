@@ -0,0 +1,61 @@
+package com.eaglebank.bankapi.auth;
+
+import com.eaglebank.bankapi.error.TooManyRequestsException;
+import com.eaglebank.bankapi.throttle.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoginThrottle {
+	static final String THROTTLED_MESSAGE = "Too many login attempts, retry later";
+
+	private final TokenBucketLimiter byEmail;
+	private final TokenBucketLimiter byClient;
+	private final Counter emailsThrottled;
+	private final Counter clientsThrottled;
+
+	public LoginThrottle(
+			MeterRegistry meterRegistry,
+			@Value("${app.auth.login-throttle.email.per-second:0.2}") double emailRate,
+			@Value("${app.auth.login-throttle.email.burst:5}") int emailBurst,
+			@Value("${app.auth.login-throttle.ip.per-second:5}") double clientRate,
+			@Value("${app.auth.login-throttle.ip.burst:20}") int clientBurst,
+			@Value("${app.auth.login-throttle.max-keys:100000}") long maxKeys
+	) {
+		this(new TokenBucketLimiter(emailRate, emailBurst, maxKeys),
+				new TokenBucketLimiter(clientRate, clientBurst, maxKeys),
+				meterRegistry);
+	}
+
+	LoginThrottle(TokenBucketLimiter byEmail, TokenBucketLimiter byClient, MeterRegistry meterRegistry) {
+		this.byEmail = byEmail;
+		this.byClient = byClient;
+		this.emailsThrottled = throttledCounter(meterRegistry, "email");
+		this.clientsThrottled = throttledCounter(meterRegistry, "ip");
+	}
+
+	public void check(String email, String clientAddress) {
+		reject(byClient.tryAcquire(clientAddress), clientsThrottled);
+		reject(byEmail.tryAcquire(email.toLowerCase(Locale.ROOT)), emailsThrottled);
+	}
+
+	private static void reject(long waitNanos, Counter throttled) {
+		if (waitNanos > 0) {
+			throttled.increment();
+			throw new TooManyRequestsException(
+					THROTTLED_MESSAGE,
+					Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))
+			);
+		}
+	}
+
+	private static Counter throttledCounter(MeterRegistry meterRegistry, String key) {
+		return Counter.builder("auth.login.throttled")
+				.tag("key", key)
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,61 @@
+package com.eaglebank.bankapi.auth;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.OffsetDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshTokenEntity implements Persistable<String> {
+	@Id
+	@Column(name = "id", nullable = false, length = 64)
+	private String id;
+
+	@Column(name = "user_id", nullable = false, length = 64)
+	private String userId;
+
+	@Column(name = "created_timestamp", nullable = false)
+	@CreationTimestamp
+	private OffsetDateTime createdTimestamp;
+
+	@Column(name = "expires_timestamp", nullable = false)
+	private OffsetDateTime expiresTimestamp;
+
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean newEntity = true;
+
+	static RefreshTokenEntity of(String id, String userId, OffsetDateTime expiresTimestamp) {
+		RefreshTokenEntity entity = new RefreshTokenEntity();
+		entity.setId(id);
+		entity.setUserId(userId);
+		entity.setExpiresTimestamp(expiresTimestamp);
+		return entity;
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		newEntity = false;
+	}
+}
@@ -0,0 +1,4 @@
+package com.eaglebank.bankapi.auth;
+
+public record RefreshTokenOwner(String userId, String email) {
+}
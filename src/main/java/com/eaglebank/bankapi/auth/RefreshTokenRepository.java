@@ -0,0 +1,29 @@
+package com.eaglebank.bankapi.auth;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, String> {
+	@Query("""
+			select new com.eaglebank.bankapi.auth.RefreshTokenOwner(u.id, u.email)
+			from RefreshTokenEntity r, UserEntity u
+			where u.id = r.userId and r.id = :id and r.expiresTimestamp > :now
+			""")
+	Optional<RefreshTokenOwner> findOwnerById(@Param("id") String id, @Param("now") OffsetDateTime now);
+
+	@Modifying
+	@Query("delete from RefreshTokenEntity r where r.id = :id")
+	int consume(@Param("id") String id);
+
+	@Modifying
+	@Query("delete from RefreshTokenEntity r where r.userId = :userId")
+	int deleteAllByUserId(@Param("userId") String userId);
+
+	@Modifying
+	@Query("delete from RefreshTokenEntity r where r.expiresTimestamp < :cutoff")
+	int deleteExpiredBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
@@ -0,0 +1,77 @@
+package com.eaglebank.bankapi.auth;
+
+import com.eaglebank.bankapi.security.AccessToken;
+import com.eaglebank.bankapi.security.JwtService;
+import com.eaglebank.bankapi.security.TokenHashes;
+import com.eaglebank.bankapi.security.TokenRevocations;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class RefreshTokenService {
+	static final String INVALID_REFRESH_TOKEN_MESSAGE = "Refresh token is missing or invalid";
+
+	private final RefreshTokenRepository refreshTokenRepository;
+	private final JwtService jwtService;
+	private final TokenRevocations tokenRevocations;
+	private final Duration lifetime;
+	private final SecureRandom random = new SecureRandom();
+
+	public RefreshTokenService(
+			RefreshTokenRepository refreshTokenRepository,
+			JwtService jwtService,
+			TokenRevocations tokenRevocations,
+			@Value("${app.security.refresh.lifetime:30d}") Duration lifetime
+	) {
+		this.refreshTokenRepository = refreshTokenRepository;
+		this.jwtService = jwtService;
+		this.tokenRevocations = tokenRevocations;
+		this.lifetime = lifetime;
+	}
+
+	@Transactional
+	public IssuedTokens issue(String email, String userId) {
+		byte[] secret = new byte[32];
+		random.nextBytes(secret);
+		String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+		refreshTokenRepository.save(RefreshTokenEntity.of(
+				TokenHashes.sha256(refreshToken),
+				userId,
+				OffsetDateTime.now().plus(lifetime)
+		));
+		return new IssuedTokens(jwtService.generateToken(email, userId), refreshToken);
+	}
+
+	@Transactional
+	public IssuedTokens refresh(String refreshToken) {
+		String id = TokenHashes.sha256(refreshToken);
+		RefreshTokenOwner owner = refreshTokenRepository.findOwnerById(id, OffsetDateTime.now())
+				.orElseThrow(() -> new AuthenticationCredentialsNotFoundException(INVALID_REFRESH_TOKEN_MESSAGE));
+		// Refresh tokens are single use; of two concurrent refreshes only the one that deletes the row wins.
+		if (refreshTokenRepository.consume(id) == 0) {
+			throw new AuthenticationCredentialsNotFoundException(INVALID_REFRESH_TOKEN_MESSAGE);
+		}
+		return issue(owner.email(), owner.userId());
+	}
+
+	@Transactional
+	public void logout(String userId, AccessToken accessToken) {
+		refreshTokenRepository.deleteAllByUserId(userId);
+		if (accessToken != null && accessToken.jti() != null && accessToken.expiresAt() != null) {
+			tokenRevocations.revoke(accessToken.jti(), accessToken.expiresAt());
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.security.refresh.purge-interval:PT1H}")
+	@Transactional
+	public void purgeExpired() {
+		refreshTokenRepository.deleteExpiredBefore(OffsetDateTime.now());
+	}
+}
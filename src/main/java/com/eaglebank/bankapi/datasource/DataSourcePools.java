@@ -0,0 +1,66 @@
+package com.eaglebank.bankapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+
+public class DataSourcePools implements AutoCloseable {
+	private final HikariDataSource primary;
+	private final List<HikariDataSource> replicas = new ArrayList<>();
+
+	public DataSourcePools(
+			DataSourceProperties properties,
+			Binder binder,
+			List<String> replicaUrls,
+			MeterRegistry meterRegistry
+	) {
+		MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+		this.primary = pool(properties, binder, properties.getUrl(), "primary", false, metrics);
+		for (int i = 0; i < replicaUrls.size(); i++) {
+			replicas.add(pool(properties, binder, replicaUrls.get(i), "replica-" + i, true, metrics));
+		}
+	}
+
+	public DataSource primary() {
+		return primary;
+	}
+
+	public List<DataSource> replicas() {
+		return List.copyOf(replicas);
+	}
+
+	@Override
+	public void close() {
+		replicas.forEach(HikariDataSource::close);
+		primary.close();
+	}
+
+	private static HikariDataSource pool(
+			DataSourceProperties properties,
+			Binder binder,
+			String url,
+			String name,
+			boolean readOnly,
+			MicrometerMetricsTrackerFactory metrics
+	) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.url(url)
+				.build();
+		// The same spring.datasource.hikari.* settings Boot would apply to its single pool; the URL, name
+		// and read-only flag stay per pool.
+		binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+		dataSource.setJdbcUrl(url);
+		dataSource.setPoolName(name);
+		dataSource.setReadOnly(readOnly);
+		// Publishes hikaricp.connections.* tagged with pool=<name>.
+		dataSource.setMetricsTrackerFactory(metrics);
+		return dataSource;
+	}
+}
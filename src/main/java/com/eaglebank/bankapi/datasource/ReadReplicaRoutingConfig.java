@@ -0,0 +1,66 @@
+package com.eaglebank.bankapi.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaRoutingConfig {
+
+	@Bean
+	public ReadYourWritesTracker readYourWritesTracker(
+			@Value("${app.datasource.routing.read-your-writes:2s}") Duration window,
+			@Value("${app.datasource.routing.read-your-writes-max-users:100000}") long maxUsers
+	) {
+		return new ReadYourWritesTracker(window, maxUsers);
+	}
+
+	@Bean
+	public DataSourcePools dataSourcePools(
+			DataSourceProperties properties,
+			Environment environment,
+			@Value("${app.datasource.routing.replica-urls:}") List<String> replicaUrls,
+			MeterRegistry meterRegistry
+	) {
+		return new DataSourcePools(properties, Binder.get(environment), replicaUrls, meterRegistry);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(
+			DataSourcePools pools,
+			ReadYourWritesTracker tracker,
+			MeterRegistry meterRegistry
+	) {
+		// The lazy proxy defers fetching a physical connection until the first statement, by which time
+		// the transaction manager has marked it read-only and the proxy can pick the replica side.
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(pools.primary());
+		dataSource.setReadOnlyDataSource(
+				new ReplicaDataSource(pools.primary(), pools.replicas(), tracker, meterRegistry)
+		);
+		return dataSource;
+	}
+
+	@Bean
+	public WebMvcConfigurer readYourWritesConfigurer(ReadYourWritesTracker tracker) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(new ReadYourWritesInterceptor(tracker));
+			}
+		};
+	}
+}
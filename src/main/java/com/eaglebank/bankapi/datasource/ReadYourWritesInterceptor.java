@@ -0,0 +1,40 @@
+package com.eaglebank.bankapi.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+	private final ReadYourWritesTracker tracker;
+
+	public ReadYourWritesInterceptor(ReadYourWritesTracker tracker) {
+		this.tracker = tracker;
+	}
+
+	@Override
+	public void afterCompletion(
+			@NonNull HttpServletRequest request,
+			@NonNull HttpServletResponse response,
+			@NonNull Object handler,
+			Exception ex
+	) {
+		if (isSafe(request.getMethod())) {
+			return;
+		}
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null
+				&& !(authentication instanceof AnonymousAuthenticationToken)) {
+			tracker.recordWrite(authentication.getName());
+		} else {
+			tracker.recordWrite(ReadYourWritesTracker.clientKey(request));
+		}
+	}
+
+	private static boolean isSafe(String method) {
+		return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+	}
+}
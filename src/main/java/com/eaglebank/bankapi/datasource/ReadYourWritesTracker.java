@@ -0,0 +1,30 @@
+package com.eaglebank.bankapi.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+
+public class ReadYourWritesTracker {
+	private final Cache<String, Boolean> recentWriters;
+
+	public ReadYourWritesTracker(Duration window, long maxUsers) {
+		this.recentWriters = Caffeine.newBuilder()
+				.expireAfterWrite(window)
+				.maximumSize(maxUsers)
+				.build();
+	}
+
+	public void recordWrite(String userId) {
+		recentWriters.put(userId, Boolean.TRUE);
+	}
+
+	public boolean recentlyWrote(String userId) {
+		return userId != null && recentWriters.getIfPresent(userId) != null;
+	}
+
+	// Anonymous writers such as signup, login and refresh have no user id yet, so they are tracked by client.
+	static String clientKey(HttpServletRequest request) {
+		return "ip:" + request.getRemoteAddr();
+	}
+}
@@ -0,0 +1,72 @@
+package com.eaglebank.bankapi.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class ReplicaDataSource extends AbstractDataSource {
+	private final DataSource primary;
+	private final List<DataSource> replicas;
+	private final ReadYourWritesTracker tracker;
+	private final AtomicInteger next = new AtomicInteger();
+	private final Counter primaryReads;
+	private final Counter replicaReads;
+
+	public ReplicaDataSource(
+			DataSource primary,
+			List<DataSource> replicas,
+			ReadYourWritesTracker tracker,
+			MeterRegistry meterRegistry
+	) {
+		this.primary = primary;
+		this.replicas = List.copyOf(replicas);
+		this.tracker = tracker;
+		this.primaryReads = readCounter(meterRegistry, "primary");
+		this.replicaReads = readCounter(meterRegistry, "replica");
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return choose().getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return choose().getConnection(username, password);
+	}
+
+	DataSource choose() {
+		if (replicas.isEmpty() || tracker.recentlyWrote(currentUserId()) || tracker.recentlyWrote(currentClientKey())) {
+			primaryReads.increment();
+			return primary;
+		}
+		replicaReads.increment();
+		return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+	}
+
+	private static String currentUserId() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return authentication == null ? null : authentication.getName();
+	}
+
+	private static String currentClientKey() {
+		return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+				? ReadYourWritesTracker.clientKey(attributes.getRequest())
+				: null;
+	}
+
+	private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+		return Counter.builder("datasource.read.connections")
+				.tag("target", target)
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,13 @@
+package com.eaglebank.bankapi.datasource;
+
+import com.eaglebank.bankapi.EagleBankApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+// Spring Data would wrap a repository call made outside a service transaction in its own read-only
+// transaction, which the routing proxy sends to a replica. Without it such calls run on the primary, and
+// every write must sit inside a service transaction.
+@Configuration
+@EnableJpaRepositories(basePackageClasses = EagleBankApplication.class, enableDefaultTransactions = false)
+public class RepositoryTransactionConfig {
+}
@@ -6,6 +6,7 @@ import com.eaglebank.generated.model.ErrorResponse;
 import jakarta.validation.ConstraintViolationException;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -62,6 +63,17 @@ public class ApiExceptionHandler {
 				.details(List.of(detail)));
 	}
 
+	@ExceptionHandler(BadRequestException.class)
+	public ResponseEntity<BadRequestErrorResponse> handleBadRequest(BadRequestException ex) {
+		BadRequestErrorResponseDetailsInner detail = new BadRequestErrorResponseDetailsInner()
+				.field(ex.getField())
+				.message(ex.getMessage())
+				.type("invalid");
+		return ResponseEntity.badRequest().body(new BadRequestErrorResponse()
+				.message("Invalid request")
+				.details(List.of(detail)));
+	}
+
 	@ExceptionHandler(NotFoundException.class)
 	public ResponseEntity<ErrorResponse> handleNotFound(NotFoundException ex) {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -80,6 +92,20 @@ public class ApiExceptionHandler {
 				.body(new ErrorResponse().message(ex.getMessage()));
 	}
 
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex) {
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+				.body(new ErrorResponse().message(ex.getMessage()));
+	}
+
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(new ErrorResponse().message(ex.getMessage()));
+	}
+
 	@ExceptionHandler(AccessDeniedException.class)
 	public ResponseEntity<ErrorResponse> handleForbidden(AccessDeniedException ex) {
 		String message = ex.getMessage();
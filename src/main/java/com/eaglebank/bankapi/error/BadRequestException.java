@@ -0,0 +1,14 @@
+package com.eaglebank.bankapi.error;
+
+public class BadRequestException extends RuntimeException {
+	private final String field;
+
+	public BadRequestException(String field, String message) {
+		super(message);
+		this.field = field;
+	}
+
+	public String getField() {
+		return field;
+	}
+}
@@ -0,0 +1,7 @@
+package com.eaglebank.bankapi.error;
+
+public class ServiceUnavailableException extends RuntimeException {
+	public ServiceUnavailableException(String message) {
+		super(message);
+	}
+}
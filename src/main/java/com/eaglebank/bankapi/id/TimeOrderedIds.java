@@ -0,0 +1,46 @@
+package com.eaglebank.bankapi.id;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class TimeOrderedIds {
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	private static final int SEQUENCE_BITS = 12;
+	private static final long VERSION = 0x7L << SEQUENCE_BITS;
+	private static final long VARIANT = 0x8000000000000000L;
+	private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+	private static final AtomicLong LAST_TICK = new AtomicLong();
+
+	private TimeOrderedIds() {
+	}
+
+	public static String next(String prefix) {
+		// UUIDv7 layout: 48-bit epoch millis, version, 12-bit sequence, variant, 62 random bits.
+		long tick = nextTick(LAST_TICK, System.currentTimeMillis());
+		long millis = tick >>> SEQUENCE_BITS;
+		long sequence = tick & ((1L << SEQUENCE_BITS) - 1);
+		long high = (millis << 16) | VERSION | sequence;
+		long low = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+
+		int offset = prefix.length();
+		char[] chars = new char[offset + 32];
+		prefix.getChars(0, offset, chars, 0);
+		writeHex(high, chars, offset);
+		writeHex(low, chars, offset + 16);
+		return new String(chars);
+	}
+
+	static long nextTick(AtomicLong lastTick, long nowMillis) {
+		long floor = nowMillis << SEQUENCE_BITS;
+		// If the sequence overflows within a millisecond the tick borrows from the next one,
+		// keeping ids strictly increasing even if the wall clock steps backwards.
+		return lastTick.updateAndGet(last -> Math.max(last + 1, floor));
+	}
+
+	private static void writeHex(long value, char[] chars, int offset) {
+		for (int i = 15; i >= 0; i--) {
+			chars[offset + i] = HEX[(int) (value & 0xF)];
+			value >>>= 4;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.eaglebank.bankapi.outbox;
+
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "listener", matchIfMissing = true)
+public class ApplicationEventOutboxSink implements OutboxSink {
+	private final ApplicationEventPublisher eventPublisher;
+
+	public ApplicationEventOutboxSink(ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+	}
+
+	@Override
+	public void publish(List<OutboxEvent> events) {
+		events.forEach(eventPublisher::publishEvent);
+	}
+}
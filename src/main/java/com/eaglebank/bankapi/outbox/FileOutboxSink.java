@@ -0,0 +1,56 @@
+package com.eaglebank.bankapi.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+	private final Path path;
+	private final ObjectMapper objectMapper;
+
+	public FileOutboxSink(
+			@Value("${app.outbox.file.path:outbox-events.jsonl}") Path path,
+			ObjectMapper objectMapper
+	) {
+		this.path = path;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public void publish(List<OutboxEvent> events) {
+		StringBuilder lines = new StringBuilder();
+		for (OutboxEvent event : events) {
+			lines.append(toJson(event)).append('\n');
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+			ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			// The rows are deleted once this returns, so the batch has to be on disk first.
+			channel.force(false);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private String toJson(OutboxEvent event) {
+		try {
+			return objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Outbox event could not be serialized", ex);
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.eaglebank.bankapi.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.OffsetDateTime;
+
+public record OutboxEvent(
+		String id,
+		String aggregateType,
+		String aggregateId,
+		String eventType,
+		@JsonRawValue String payload,
+		OffsetDateTime createdTimestamp
+) {
+}
@@ -0,0 +1,72 @@
+package com.eaglebank.bankapi.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.OffsetDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEventEntity implements Persistable<String> {
+	@Id
+	@Column(name = "id", nullable = false, length = 64)
+	private String id;
+
+	@Column(name = "aggregate_type", nullable = false, length = 32)
+	private String aggregateType;
+
+	@Column(name = "aggregate_id", nullable = false, length = 64)
+	private String aggregateId;
+
+	@Column(name = "event_type", nullable = false, length = 64)
+	private String eventType;
+
+	@Column(name = "payload", nullable = false)
+	@JdbcTypeCode(SqlTypes.JSON)
+	private String payload;
+
+	@Column(name = "created_timestamp", nullable = false)
+	@CreationTimestamp
+	private OffsetDateTime createdTimestamp;
+
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean newEntity = true;
+
+	static OutboxEventEntity of(String id, String aggregateType, String aggregateId, String eventType, String payload) {
+		OutboxEventEntity entity = new OutboxEventEntity();
+		entity.setId(id);
+		entity.setAggregateType(aggregateType);
+		entity.setAggregateId(aggregateId);
+		entity.setEventType(eventType);
+		entity.setPayload(payload);
+		return entity;
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		newEntity = false;
+	}
+}
@@ -0,0 +1,6 @@
+package com.eaglebank.bankapi.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, String> {
+}
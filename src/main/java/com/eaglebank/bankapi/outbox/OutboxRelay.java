@@ -0,0 +1,104 @@
+package com.eaglebank.bankapi.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class OutboxRelay {
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final OutboxSink outboxSink;
+	private final int batchSize;
+	private final Counter published;
+	private final Timer lag;
+	private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+	public OutboxRelay(
+			JdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate,
+			OutboxSink outboxSink,
+			MeterRegistry meterRegistry,
+			@Value("${app.outbox.relay.batch-size:200}") int batchSize
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.outboxSink = outboxSink;
+		this.batchSize = batchSize;
+		this.published = Counter.builder("outbox.relay.published").register(meterRegistry);
+		this.lag = Timer.builder("outbox.relay.lag").register(meterRegistry);
+		Gauge.builder("outbox.relay.oldest.age", oldestPendingMillis, AtomicLong::get)
+				.baseUnit("milliseconds")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${app.outbox.relay.interval:PT0.5S}")
+	public void relay() {
+		// A full batch means more are waiting, so keep draining instead of sleeping a whole interval.
+		int relayed;
+		do {
+			relayed = relayBatch();
+		} while (relayed == batchSize);
+	}
+
+	int relayBatch() {
+		Integer relayed = transactionTemplate.execute(status -> {
+			// SKIP LOCKED lets every node run the relay: each claims a disjoint batch instead of queueing
+			// behind the others, and a crashed node's rows unlock and are picked up again.
+			List<OutboxEvent> batch = jdbcTemplate.query(
+					"""
+							select id, aggregate_type, aggregate_id, event_type, payload, created_timestamp
+							from outbox_events
+							order by id
+							limit ?
+							for update skip locked
+							""",
+					OutboxRelay::toEvent,
+					batchSize
+			);
+			if (batch.isEmpty()) {
+				oldestPendingMillis.set(0);
+				return 0;
+			}
+
+			OffsetDateTime now = OffsetDateTime.now();
+			oldestPendingMillis.set(Duration.between(batch.get(0).createdTimestamp(), now).toMillis());
+			// Publish before deleting: if the delete never commits the batch is sent again, never lost.
+			outboxSink.publish(batch);
+			jdbcTemplate.batchUpdate(
+					"delete from outbox_events where id = ?",
+					batch.stream().map(event -> new Object[] {event.id()}).toList()
+			);
+
+			for (OutboxEvent event : batch) {
+				lag.record(Duration.between(event.createdTimestamp(), now));
+			}
+			published.increment(batch.size());
+			return batch.size();
+		});
+		return relayed == null ? 0 : relayed;
+	}
+
+	private static OutboxEvent toEvent(ResultSet rs, int rowNum) throws SQLException {
+		return new OutboxEvent(
+				rs.getString("id"),
+				rs.getString("aggregate_type"),
+				rs.getString("aggregate_id"),
+				rs.getString("event_type"),
+				rs.getString("payload"),
+				rs.getObject("created_timestamp", OffsetDateTime.class)
+		);
+	}
+}
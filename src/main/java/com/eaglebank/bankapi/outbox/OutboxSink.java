@@ -0,0 +1,8 @@
+package com.eaglebank.bankapi.outbox;
+
+import java.util.List;
+
+public interface OutboxSink {
+	// Throwing leaves the batch in the outbox, so it is retried on the next relay run.
+	void publish(List<OutboxEvent> events);
+}
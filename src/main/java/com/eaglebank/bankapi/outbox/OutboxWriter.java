@@ -0,0 +1,39 @@
+package com.eaglebank.bankapi.outbox;
+
+import com.eaglebank.bankapi.id.TimeOrderedIds;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class OutboxWriter {
+	private final OutboxEventRepository outboxEventRepository;
+	private final ObjectMapper objectMapper;
+
+	public OutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	// Mandatory: an event written outside the caller's transaction could outlive a rolled-back change.
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void append(String aggregateType, String aggregateId, String eventType, Object payload) {
+		outboxEventRepository.save(OutboxEventEntity.of(
+				TimeOrderedIds.next("evt-"),
+				aggregateType,
+				aggregateId,
+				eventType,
+				toJson(payload)
+		));
+	}
+
+	private String toJson(Object payload) {
+		try {
+			return objectMapper.writeValueAsString(payload);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Outbox payload could not be serialized", ex);
+		}
+	}
+}
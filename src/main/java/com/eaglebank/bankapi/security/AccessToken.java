@@ -0,0 +1,6 @@
+package com.eaglebank.bankapi.security;
+
+import java.time.Instant;
+
+public record AccessToken(String principal, String jti, Instant expiresAt) {
+}
@@ -0,0 +1,57 @@
+package com.eaglebank.bankapi.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free bloom filter over strings; bits are only ever set, with a CAS per word.
+final class BloomFilter {
+	private final AtomicLongArray words;
+	private final int bitCount;
+	private final int hashCount;
+
+	BloomFilter(int expectedInsertions, double falsePositiveRate) {
+		int expected = Math.max(1, expectedInsertions);
+		long bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+		this.words = new AtomicLongArray((bitCount + 63) >>> 6);
+	}
+
+	void put(String value) {
+		long hash = hash64(value);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			int bit = Math.floorMod(h1 + i * h2, bitCount);
+			long mask = 1L << bit;
+			words.getAndAccumulate(bit >>> 6, mask, (word, set) -> word | set);
+		}
+	}
+
+	boolean mightContain(String value) {
+		long hash = hash64(value);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			int bit = Math.floorMod(h1 + i * h2, bitCount);
+			if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long hash64(String value) {
+		// FNV-1a over the chars, then the murmur3 finalizer to spread the bits across both halves.
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
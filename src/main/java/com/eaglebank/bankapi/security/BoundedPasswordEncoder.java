@@ -0,0 +1,115 @@
+package com.eaglebank.bankapi.security;
+
+import com.eaglebank.bankapi.error.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+	static final String SATURATED_MESSAGE = "The service is overloaded, retry later";
+
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final Timer encodeTimer;
+	private final Timer verifyTimer;
+	private final Timer queueWait;
+	private final Counter rejected;
+
+	@Autowired
+	public BoundedPasswordEncoder(
+			MeterRegistry meterRegistry,
+			@Value("${app.security.password.bcrypt-strength:10}") int strength,
+			@Value("${app.security.password.threads:0}") int threads,
+			@Value("${app.security.password.queue-capacity:64}") int queueCapacity
+	) {
+		this(meterRegistry, new BCryptPasswordEncoder(strength), threads, queueCapacity);
+	}
+
+	BoundedPasswordEncoder(MeterRegistry meterRegistry, PasswordEncoder delegate, int threads, int queueCapacity) {
+		this.delegate = delegate;
+		// BCrypt is pure CPU, so by default half the cores hash and the rest stay free for the other endpoints.
+		int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		this.executor = new ThreadPoolExecutor(
+				poolSize,
+				poolSize,
+				0,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+				new ThreadPoolExecutor.AbortPolicy()
+		);
+
+		this.encodeTimer = hashTimer(meterRegistry, "encode");
+		this.verifyTimer = hashTimer(meterRegistry, "verify");
+		this.queueWait = Timer.builder("password.hash.queue.wait").register(meterRegistry);
+		this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+		Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return run(encodeTimer, () -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return run(verifyTimer, () -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	private <T> T run(Timer timer, Callable<T> hashing) {
+		long submitted = System.nanoTime();
+		Future<T> result;
+		try {
+			result = executor.submit(() -> {
+				queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+				return timer.recordCallable(hashing);
+			});
+		} catch (RejectedExecutionException ex) {
+			rejected.increment();
+			throw new ServiceUnavailableException(SATURATED_MESSAGE);
+		}
+		try {
+			return result.get();
+		} catch (InterruptedException ex) {
+			result.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException(SATURATED_MESSAGE);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+
+	private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+		return Timer.builder("password.hash.duration")
+				.tag("operation", operation)
+				.register(meterRegistry);
+	}
+}
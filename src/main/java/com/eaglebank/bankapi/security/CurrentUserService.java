@@ -15,4 +15,11 @@ public class CurrentUserService {
 		}
 		return authentication.getName();
 	}
+
+	public AccessToken getCurrentAccessToken() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return authentication != null && authentication.getCredentials() instanceof AccessToken accessToken
+				? accessToken
+				: null;
+	}
 }
@@ -2,15 +2,19 @@ package com.eaglebank.bankapi.security;
 
 import io.jsonwebtoken.JwtException;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 import org.jspecify.annotations.NonNull;
+import org.springframework.http.server.PathContainer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,10 +22,28 @@ import jakarta.servlet.http.HttpServletResponse;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+	private static final List<PathPattern> PUBLIC_DOC_PATHS = Arrays.stream(SecurityConfig.PUBLIC_DOC_PATHS)
+			.map(PathPatternParser.defaultInstance::parse)
+			.toList();
+
 	private final JwtService jwtService;
+	private final TokenRevocations tokenRevocations;
 
-	public JwtAuthenticationFilter(JwtService jwtService) {
+	public JwtAuthenticationFilter(JwtService jwtService, TokenRevocations tokenRevocations) {
 		this.jwtService = jwtService;
+		this.tokenRevocations = tokenRevocations;
+	}
+
+	// Docs are public and fetched constantly by tooling, so they skip token parsing altogether.
+	@Override
+	protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+		PathContainer path = PathContainer.parsePath(request.getRequestURI());
+		for (PathPattern pattern : PUBLIC_DOC_PATHS) {
+			if (pattern.matches(path)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
@@ -34,15 +56,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		if (header != null && header.startsWith("Bearer ")) {
 			String token = header.substring(7);
 			try {
-				var claims = jwtService.parseToken(token);
-				String subject = claims.getSubject();
-				String userId = claims.get("userId", String.class);
-				String principal = userId != null ? userId : subject;
-				if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+				AccessToken accessToken = jwtService.verify(token);
+				if (!tokenRevocations.isRevoked(accessToken.jti())
+						&& SecurityContextHolder.getContext().getAuthentication() == null) {
 					UsernamePasswordAuthenticationToken authentication =
 							new UsernamePasswordAuthenticationToken(
-									principal,
-									null,
+									accessToken.principal(),
+									accessToken,
 									List.of(new SimpleGrantedAuthority("ROLE_USER"))
 							);
 					authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
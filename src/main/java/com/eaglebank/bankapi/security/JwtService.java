@@ -1,11 +1,18 @@
 package com.eaglebank.bankapi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 import javax.crypto.SecretKey;
 
 import lombok.Getter;
@@ -15,20 +22,31 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtService {
 	private final SecretKey key;
+	private final JwtParser parser;
+	private final Cache<String, AccessToken> verifiedTokens;
 	@Getter
     private final long expirationSeconds;
 
 	public JwtService(
 			@Value("${app.security.jwt.secret}") String secret,
-			@Value("${app.security.jwt.expiration-seconds:3600}") long expirationSeconds
+			@Value("${app.security.jwt.expiration-seconds:900}") long expirationSeconds,
+			@Value("${app.security.jwt.verified-cache-size:10000}") long verifiedCacheSize
 	) {
 		this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+		this.parser = Jwts.parser().verifyWith(key).build();
 		this.expirationSeconds = expirationSeconds;
+		// An entry never outlives its token, so a cache hit is as good as a fresh signature and exp check.
+		this.verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(verifiedCacheSize)
+				.expireAfter(Expiry.creating((String hash, AccessToken verified) ->
+						Duration.between(Instant.now(), verified.expiresAt())))
+				.build();
 	}
 
 	public String generateToken(String subject, String userId) {
 		Instant now = Instant.now();
 		return Jwts.builder()
+				.id(UUID.randomUUID().toString())
 				.subject(subject)
 				.claim("userId", userId)
 				.issuedAt(Date.from(now))
@@ -38,11 +56,29 @@ public class JwtService {
 	}
 
 	public Claims parseToken(String token) {
-		return Jwts.parser()
-				.verifyWith(key)
-				.build()
-				.parseSignedClaims(token)
-				.getPayload();
+		return parser.parseSignedClaims(token).getPayload();
+	}
+
+	// Returns a valid token's principal and id, or throws JwtException; repeat calls skip HMAC and JSON parsing.
+	public AccessToken verify(String token) {
+		String hash = TokenHashes.sha256(token);
+		AccessToken cached = verifiedTokens.getIfPresent(hash);
+		if (cached != null) {
+			return cached;
+		}
+
+		Claims claims = parseToken(token);
+		String userId = claims.get("userId", String.class);
+		String principal = userId != null ? userId : claims.getSubject();
+		if (principal == null) {
+			throw new JwtException("Token has no principal");
+		}
+		Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+		AccessToken verified = new AccessToken(principal, claims.getId(), expiresAt);
+		if (expiresAt != null) {
+			verifiedTokens.put(hash, verified);
+		}
+		return verified;
 	}
 
 }
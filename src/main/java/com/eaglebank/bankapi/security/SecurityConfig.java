@@ -1,74 +1,52 @@
 package com.eaglebank.bankapi.security;
 
-import com.eaglebank.bankapi.user.UserRepository;
+import com.eaglebank.bankapi.throttle.ConcurrencyLimitFilter;
+import com.eaglebank.bankapi.throttle.RateLimitFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+	static final String[] PUBLIC_DOC_PATHS = {
+			"/openapi.yaml",
+			"/openapi-*.yaml",
+			"/swagger-ui.html",
+			"/swagger-ui/**",
+			"/v3/api-docs/**"
+	};
 
 	@Bean
 	public SecurityFilterChain securityFilterChain(
 			HttpSecurity http,
-			JwtAuthenticationFilter jwtAuthenticationFilter
+			JwtAuthenticationFilter jwtAuthenticationFilter,
+			ConcurrencyLimitFilter concurrencyLimitFilter,
+			RateLimitFilter rateLimitFilter
 	) throws Exception {
 		http
 				.csrf(AbstractHttpConfigurer::disable)
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.authorizeHttpRequests(auth -> auth
 						.requestMatchers(HttpMethod.POST, "/v1/auth/login").permitAll()
+						.requestMatchers(HttpMethod.POST, "/v1/auth/refresh").permitAll()
 						.requestMatchers(HttpMethod.POST, "/v1/users").permitAll()
-						.requestMatchers(
-								"/openapi.yaml",
-								"/swagger-ui.html",
-								"/swagger-ui/**",
-								"/v3/api-docs/**"
-						).permitAll()
+						.requestMatchers("/actuator/health").permitAll()
+						.requestMatchers(PUBLIC_DOC_PATHS).permitAll()
 						.anyRequest().authenticated()
 				)
 				.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+				.addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class)
+				.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
 				.formLogin(AbstractHttpConfigurer::disable)
 				.httpBasic(AbstractHttpConfigurer::disable);
 
 		return http.build();
 	}
-
-	@Bean
-	public UserDetailsService userDetailsService(UserRepository userRepository) {
-		return username -> {
-			return userRepository.findByEmail(username)
-					.filter(user -> user.getPasswordHash() != null && !user.getPasswordHash().isBlank())
-					.map(user -> User.withUsername(user.getEmail())
-							.password(user.getPasswordHash())
-							.roles("USER")
-							.build())
-					.orElseThrow(() -> new UsernameNotFoundException("User not found"));
-		};
-	}
-
-	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
-	}
-
-	@Bean
-	public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
-		return configuration.getAuthenticationManager();
-	}
 }
@@ -0,0 +1,115 @@
+package com.eaglebank.bankapi.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class TokenRevocations {
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final int expectedEntries;
+	private final Duration commitLag;
+	private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+	private volatile BloomFilter bloomFilter;
+	private int bloomCapacity;
+	private OffsetDateTime watermark = OffsetDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC);
+
+	public TokenRevocations(
+			JdbcTemplate jdbcTemplate,
+			ApplicationEventPublisher eventPublisher,
+			@Value("${app.security.revocation.expected-entries:100000}") int expectedEntries,
+			@Value("${app.security.revocation.commit-lag:PT30S}") Duration commitLag
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.eventPublisher = eventPublisher;
+		this.expectedEntries = expectedEntries;
+		this.commitLag = commitLag;
+		this.bloomFilter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+		this.bloomCapacity = expectedEntries;
+	}
+
+	// Almost every token is not revoked, and the bloom filter answers those without touching the map.
+	public boolean isRevoked(String jti) {
+		return jti != null && bloomFilter.mightContain(jti) && revoked.containsKey(jti);
+	}
+
+	public void revoke(String jti, Instant expiresAt) {
+		jdbcTemplate.update(
+				"insert into revoked_tokens (jti, expires_timestamp) values (?, ?) on conflict do nothing",
+				jti,
+				OffsetDateTime.ofInstant(expiresAt, ZoneOffset.UTC)
+		);
+		eventPublisher.publishEvent(new TokenRevokedEvent(jti, expiresAt));
+	}
+
+	// A logout that rolls back must not leave its token denied on this node only.
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onTokenRevoked(TokenRevokedEvent event) {
+		remember(event.jti(), event.expiresAt());
+	}
+
+	// Picks up revocations made on other nodes since the last refresh and drops ids whose tokens have expired.
+	@Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval:PT5S}")
+	public void refresh() {
+		Instant now = Instant.now();
+		OffsetDateTime[] newest = {watermark};
+		jdbcTemplate.query(
+				"select jti, expires_timestamp, revoked_timestamp from revoked_tokens where revoked_timestamp > ? and expires_timestamp > ?",
+				row -> {
+					remember(row.getString(1), row.getObject(2, OffsetDateTime.class).toInstant());
+					OffsetDateTime revokedAt = row.getObject(3, OffsetDateTime.class);
+					if (revokedAt.isAfter(newest[0])) {
+						newest[0] = revokedAt;
+					}
+				},
+				watermark,
+				OffsetDateTime.ofInstant(now, ZoneOffset.UTC)
+		);
+		// revoked_timestamp is the writer's transaction start, so a row can commit after a newer one was read;
+		// re-reading the last commitLag of revocations catches it.
+		if (newest[0].isAfter(watermark)) {
+			watermark = newest[0].minus(commitLag);
+		}
+
+		boolean dropped = revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+		if (dropped || revoked.size() > bloomCapacity) {
+			rebuildBloomFilter();
+		}
+	}
+
+	// One delete per interval rather than per refresh; expired rows are already skipped when loading.
+	@Scheduled(fixedDelayString = "${app.security.revocation.purge-interval:PT1H}")
+	public void purgeExpired() {
+		jdbcTemplate.update(
+				"delete from revoked_tokens where expires_timestamp <= ?",
+				OffsetDateTime.ofInstant(Instant.now(), ZoneOffset.UTC)
+		);
+	}
+
+	private void rebuildBloomFilter() {
+		int capacity = Math.max(expectedEntries, revoked.size() * 2);
+		BloomFilter rebuilt = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+		revoked.keySet().forEach(rebuilt::put);
+		bloomFilter = rebuilt;
+		bloomCapacity = capacity;
+		// A revoke that raced the rebuild may have set its bit in the old filter only; its map entry is visible now.
+		revoked.keySet().forEach(rebuilt::put);
+	}
+
+	private void remember(String jti, Instant expiresAt) {
+		revoked.put(jti, expiresAt);
+		bloomFilter.put(jti);
+	}
+}
@@ -0,0 +1,6 @@
+package com.eaglebank.bankapi.security;
+
+import java.time.Instant;
+
+public record TokenRevokedEvent(String jti, Instant expiresAt) {
+}
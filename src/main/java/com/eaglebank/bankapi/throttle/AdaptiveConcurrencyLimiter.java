@@ -0,0 +1,151 @@
+package com.eaglebank.bankapi.throttle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AdaptiveConcurrencyLimiter {
+	public enum Priority {
+		WRITE,
+		READ
+	}
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double readShare;
+	private final long latencyThresholdNanos;
+	private final double backoff;
+	private final long cooldownNanos;
+	private final IntSupplier pendingConnections;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLong limitBits;
+	private final AtomicLong lastDecrease;
+	private final Counter writesShed;
+	private final Counter readsShed;
+
+	@Autowired
+	public AdaptiveConcurrencyLimiter(
+			MeterRegistry meterRegistry,
+			@Value("${app.throttle.initial-limit:50}") int initialLimit,
+			@Value("${app.throttle.min-limit:8}") int minLimit,
+			@Value("${app.throttle.max-limit:400}") int maxLimit,
+			@Value("${app.throttle.read-share:0.8}") double readShare,
+			@Value("${app.throttle.latency-threshold:250ms}") Duration latencyThreshold
+	) {
+		this(meterRegistry, new PendingConnections(meterRegistry), initialLimit, minLimit, maxLimit, readShare,
+				latencyThreshold);
+	}
+
+	AdaptiveConcurrencyLimiter(
+			MeterRegistry meterRegistry,
+			IntSupplier pendingConnections,
+			int initialLimit,
+			int minLimit,
+			int maxLimit,
+			double readShare,
+			Duration latencyThreshold
+	) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.readShare = readShare;
+		this.latencyThresholdNanos = latencyThreshold.toNanos();
+		this.backoff = 0.9;
+		// At most one multiplicative decrease per latency threshold, so one slow burst cannot collapse the limit.
+		this.cooldownNanos = latencyThreshold.toNanos();
+		this.lastDecrease = new AtomicLong(System.nanoTime() - cooldownNanos);
+		this.pendingConnections = pendingConnections;
+		this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+
+		Gauge.builder("http.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit).register(meterRegistry);
+		Gauge.builder("http.concurrency.in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+		this.writesShed = shedCounter(meterRegistry, Priority.WRITE);
+		this.readsShed = shedCounter(meterRegistry, Priority.READ);
+	}
+
+	public boolean tryAcquire(Priority priority) {
+		// Reads may only use part of the limit, which leaves headroom that only writes can take.
+		double limit = limit();
+		int allowed = (int) (priority == Priority.WRITE ? limit : Math.max(1, limit * readShare));
+		while (true) {
+			int current = inFlight.get();
+			if (current >= allowed) {
+				(priority == Priority.WRITE ? writesShed : readsShed).increment();
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	public void release(long latencyNanos) {
+		int inFlightBefore = inFlight.getAndDecrement();
+		if (latencyNanos > latencyThresholdNanos || pendingConnections.getAsInt() > 0) {
+			decrease();
+		} else if (inFlightBefore * 2 >= limit()) {
+			// Only grow while the limit is actually being used; an idle node should not drift to the maximum.
+			limitBits.getAndUpdate(bits -> {
+				double limit = Double.longBitsToDouble(bits);
+				return Double.doubleToLongBits(Math.min(maxLimit, limit + 1.0 / limit));
+			});
+		}
+	}
+
+	double limit() {
+		return Double.longBitsToDouble(limitBits.get());
+	}
+
+	int inFlight() {
+		return inFlight.get();
+	}
+
+	private void decrease() {
+		long now = System.nanoTime();
+		long last = lastDecrease.get();
+		if (now - last < cooldownNanos || !lastDecrease.compareAndSet(last, now)) {
+			return;
+		}
+		limitBits.getAndUpdate(bits -> Double.doubleToLongBits(
+				Math.max(minLimit, Double.longBitsToDouble(bits) * backoff)));
+	}
+
+	private static Counter shedCounter(MeterRegistry meterRegistry, Priority priority) {
+		return Counter.builder("http.concurrency.shed")
+				.tag("priority", priority.name().toLowerCase())
+				.register(meterRegistry);
+	}
+
+	private static final class PendingConnections implements IntSupplier {
+		private final MeterRegistry meterRegistry;
+		private volatile Collection<Gauge> gauges = List.of();
+
+		private PendingConnections(MeterRegistry meterRegistry) {
+			this.meterRegistry = meterRegistry;
+		}
+
+		@Override
+		public int getAsInt() {
+			Collection<Gauge> current = gauges;
+			if (current.isEmpty()) {
+				// Hikari registers its pool gauges once the pool starts, so resolve them lazily.
+				current = meterRegistry.find("hikaricp.connections.pending").gauges();
+				gauges = current;
+			}
+			int pending = 0;
+			for (Gauge gauge : current) {
+				pending += (int) gauge.value();
+			}
+			return pending;
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.eaglebank.bankapi.throttle;
+
+import com.eaglebank.generated.model.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+	private static final String RETRY_AFTER_SECONDS = "1";
+	private static final Pattern POSTING_PATH = Pattern.compile("/v1/accounts/[^/]+/transactions(/batch)?");
+
+	private final AdaptiveConcurrencyLimiter limiter;
+	private final ObjectMapper objectMapper;
+
+	public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+		this.limiter = limiter;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+		return !request.getRequestURI().startsWith("/v1/");
+	}
+
+	@Override
+	protected void doFilterInternal(
+			@NonNull HttpServletRequest request,
+			@NonNull HttpServletResponse response,
+			@NonNull FilterChain filterChain
+	) throws ServletException, IOException {
+		if (!limiter.tryAcquire(priorityOf(request))) {
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			objectMapper.writeValue(
+					response.getOutputStream(),
+					new ErrorResponse().message("The service is overloaded, retry later")
+			);
+			return;
+		}
+
+		long start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			limiter.release(System.nanoTime() - start);
+		}
+	}
+
+	// Only postings move money, so only they get the headroom. Login and signup are anonymous and spend their
+	// time in BCrypt; they and every other operation are shed along with reads.
+	static AdaptiveConcurrencyLimiter.Priority priorityOf(HttpServletRequest request) {
+		return "POST".equals(request.getMethod()) && POSTING_PATH.matcher(request.getRequestURI()).matches()
+				? AdaptiveConcurrencyLimiter.Priority.WRITE
+				: AdaptiveConcurrencyLimiter.Priority.READ;
+	}
+}
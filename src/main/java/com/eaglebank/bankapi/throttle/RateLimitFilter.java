@@ -0,0 +1,122 @@
+package com.eaglebank.bankapi.throttle;
+
+import com.eaglebank.generated.model.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+	public enum OperationClass {
+		READ,
+		WRITE,
+		AUTH
+	}
+
+	static final String LIMIT_HEADER = "X-RateLimit-Limit";
+	static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+	private final Map<OperationClass, TokenBucketLimiter> limiters;
+	private final Map<OperationClass, Counter> rejected = new EnumMap<>(OperationClass.class);
+	private final ObjectMapper objectMapper;
+
+	@Autowired
+	public RateLimitFilter(
+			ObjectMapper objectMapper,
+			MeterRegistry meterRegistry,
+			@Value("${app.ratelimit.read.per-second:50}") double readRate,
+			@Value("${app.ratelimit.read.burst:100}") int readBurst,
+			@Value("${app.ratelimit.write.per-second:10}") double writeRate,
+			@Value("${app.ratelimit.write.burst:20}") int writeBurst,
+			@Value("${app.ratelimit.auth.per-second:1}") double authRate,
+			@Value("${app.ratelimit.auth.burst:10}") int authBurst,
+			@Value("${app.ratelimit.max-keys:100000}") long maxKeys
+	) {
+		this(objectMapper, meterRegistry, Map.of(
+				OperationClass.READ, new TokenBucketLimiter(readRate, readBurst, maxKeys),
+				OperationClass.WRITE, new TokenBucketLimiter(writeRate, writeBurst, maxKeys),
+				OperationClass.AUTH, new TokenBucketLimiter(authRate, authBurst, maxKeys)
+		));
+	}
+
+	RateLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry, Map<OperationClass, TokenBucketLimiter> limiters) {
+		this.objectMapper = objectMapper;
+		this.limiters = new EnumMap<>(limiters);
+		for (OperationClass operationClass : OperationClass.values()) {
+			rejected.put(operationClass, Counter.builder("http.ratelimit.rejected")
+					.tag("class", operationClass.name().toLowerCase(Locale.ROOT))
+					.register(meterRegistry));
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+		return !request.getRequestURI().startsWith("/v1/");
+	}
+
+	@Override
+	protected void doFilterInternal(
+			@NonNull HttpServletRequest request,
+			@NonNull HttpServletResponse response,
+			@NonNull FilterChain filterChain
+	) throws ServletException, IOException {
+		OperationClass operationClass = classify(request);
+		TokenBucketLimiter limiter = limiters.get(operationClass);
+		TokenBucketLimiter.Decision decision = limiter.acquire(keyOf(request));
+		response.setHeader(LIMIT_HEADER, Integer.toString(limiter.burst()));
+		response.setHeader(REMAINING_HEADER, Integer.toString(decision.remaining()));
+
+		if (!decision.allowed()) {
+			rejected.get(operationClass).increment();
+			response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(
+					Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.waitNanos() + 999_999_999L))));
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			objectMapper.writeValue(
+					response.getOutputStream(),
+					new ErrorResponse().message("Too many requests, retry later")
+			);
+			return;
+		}
+
+		filterChain.doFilter(request, response);
+	}
+
+	static OperationClass classify(HttpServletRequest request) {
+		if (request.getRequestURI().startsWith("/v1/auth/")) {
+			return OperationClass.AUTH;
+		}
+		String method = request.getMethod();
+		return "GET".equals(method) || "HEAD".equals(method) ? OperationClass.READ : OperationClass.WRITE;
+	}
+
+	// Runs after the JWT filter, so signed-in callers are keyed by user id; anonymous ones (login, signup) by address.
+	private static String keyOf(HttpServletRequest request) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.isAuthenticated()
+				&& !(authentication instanceof AnonymousAuthenticationToken)) {
+			return authentication.getName();
+		}
+		return "ip:" + request.getRemoteAddr();
+	}
+}
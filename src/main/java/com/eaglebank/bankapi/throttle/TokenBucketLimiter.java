@@ -0,0 +1,62 @@
+package com.eaglebank.bankapi.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token buckets as GCRA: each key stores only its theoretical arrival time, advanced with a CAS.
+public class TokenBucketLimiter {
+	public record Decision(boolean allowed, int remaining, long waitNanos) {
+	}
+
+	private final long emissionIntervalNanos;
+	private final long burstToleranceNanos;
+	private final int burst;
+	private final LongSupplier nanoClock;
+	private final Cache<String, AtomicLong> arrivals;
+
+	public TokenBucketLimiter(double permitsPerSecond, int burst, long maxKeys) {
+		this(permitsPerSecond, burst, maxKeys, System::nanoTime);
+	}
+
+	TokenBucketLimiter(double permitsPerSecond, int burst, long maxKeys, LongSupplier nanoClock) {
+		this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+		this.burstToleranceNanos = emissionIntervalNanos * (burst - 1L);
+		this.burst = burst;
+		this.nanoClock = nanoClock;
+		// A key idle for a full refill has a full bucket again, so forgetting it changes nothing.
+		this.arrivals = Caffeine.newBuilder()
+				.maximumSize(maxKeys)
+				.expireAfterAccess(Duration.ofNanos(emissionIntervalNanos * burst))
+				.build();
+	}
+
+	// Returns 0 when a permit was taken, otherwise the nanoseconds until the next one frees up.
+	public long tryAcquire(String key) {
+		return acquire(key).waitNanos();
+	}
+
+	public Decision acquire(String key) {
+		long now = nanoClock.getAsLong();
+		AtomicLong arrival = arrivals.get(key, k -> new AtomicLong(now));
+		while (true) {
+			long stored = arrival.get();
+			long theoretical = Math.max(stored, now);
+			long ahead = theoretical - now;
+			if (ahead > burstToleranceNanos) {
+				return new Decision(false, 0, ahead - burstToleranceNanos);
+			}
+			long next = theoretical + emissionIntervalNanos;
+			if (arrival.compareAndSet(stored, next)) {
+				int remaining = (int) ((emissionIntervalNanos * burst - (next - now)) / emissionIntervalNanos);
+				return new Decision(true, remaining, 0);
+			}
+		}
+	}
+
+	public int burst() {
+		return burst;
+	}
+}
@@ -0,0 +1,87 @@
+package com.eaglebank.bankapi.transaction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyKeyEntity implements Persistable<String> {
+	@Id
+	@Column(name = "id", nullable = false, length = 320)
+	private String id;
+
+	@Column(name = "user_id", nullable = false, length = 64)
+	private String userId;
+
+	@Column(name = "account_id", nullable = false, length = 8)
+	private String accountId;
+
+	@Column(name = "transaction_id", nullable = false, length = 64)
+	private String transactionId;
+
+	// Null for keys stored before requests were fingerprinted; those replay without the check.
+	@Column(name = "request_hash", length = 44)
+	private String requestHash;
+
+	@Column(name = "created_timestamp", nullable = false)
+	@CreationTimestamp
+	private OffsetDateTime createdTimestamp;
+
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean newEntity = true;
+
+	static IdempotencyKeyEntity of(String id, String userId, String accountId, TransactionEntity transaction) {
+		IdempotencyKeyEntity entity = new IdempotencyKeyEntity();
+		entity.setId(id);
+		entity.setUserId(userId);
+		entity.setAccountId(accountId);
+		entity.setTransactionId(transaction.getId());
+		entity.setRequestHash(requestHashOf(transaction));
+		return entity;
+	}
+
+	// The amount is compared by value, so 5 and 5.00 are the same request.
+	static String requestHashOf(TransactionEntity transaction) {
+		String amount = transaction.getAmount() == null ? null : transaction.getAmount().stripTrailingZeros().toPlainString();
+		String fingerprint = String.join("\n", String.valueOf(amount), String.valueOf(transaction.getCurrency()),
+				String.valueOf(transaction.getType()), String.valueOf(transaction.getReference()));
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		newEntity = false;
+	}
+}
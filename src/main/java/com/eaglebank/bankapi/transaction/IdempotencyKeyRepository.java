@@ -0,0 +1,27 @@
+package com.eaglebank.bankapi.transaction;
+
+import java.time.OffsetDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+	@Modifying
+	@Query(value = """
+			insert into idempotency_keys (id, user_id, account_id, transaction_id, request_hash, created_timestamp)
+			values (:id, :userId, :accountId, :transactionId, :requestHash, now())
+			on conflict (id) do nothing
+			""", nativeQuery = true)
+	int claim(
+			@Param("id") String id,
+			@Param("userId") String userId,
+			@Param("accountId") String accountId,
+			@Param("transactionId") String transactionId,
+			@Param("requestHash") String requestHash
+	);
+
+	@Modifying
+	@Query("delete from IdempotencyKeyEntity k where k.createdTimestamp < :cutoff")
+	int deleteCreatedBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
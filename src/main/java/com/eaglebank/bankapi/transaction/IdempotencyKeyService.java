@@ -0,0 +1,150 @@
+package com.eaglebank.bankapi.transaction;
+
+import com.eaglebank.bankapi.error.ConflictException;
+import com.eaglebank.generated.model.TransactionResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class IdempotencyKeyService {
+	private static final String KEY_REUSED_MESSAGE = "The idempotency key was already used for a different bank account";
+	private static final String REQUEST_CHANGED_MESSAGE = "The idempotency key was already used for a different request";
+
+	private final IdempotencyKeyRepository idempotencyKeyRepository;
+	private final TransactionRepository transactionRepository;
+	private final TransactionMapper transactionMapper;
+	private final TransactionArchive transactionArchive;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration retention;
+	private final Cache<String, CompletedRequest> completed;
+	private final ConcurrentHashMap<String, CompletableFuture<CompletedRequest>> inFlight = new ConcurrentHashMap<>();
+
+	public IdempotencyKeyService(
+			IdempotencyKeyRepository idempotencyKeyRepository,
+			TransactionRepository transactionRepository,
+			TransactionMapper transactionMapper,
+			TransactionArchive transactionArchive,
+			TransactionTemplate transactionTemplate,
+			@Value("${app.transactions.idempotency.cache-size:10000}") long cacheSize,
+			@Value("${app.transactions.idempotency.retention:24h}") Duration retention
+	) {
+		this.idempotencyKeyRepository = idempotencyKeyRepository;
+		this.transactionRepository = transactionRepository;
+		this.transactionMapper = transactionMapper;
+		this.transactionArchive = transactionArchive;
+		this.transactionTemplate = transactionTemplate;
+		this.retention = retention;
+		this.completed = Caffeine.newBuilder()
+				.maximumSize(cacheSize)
+				.expireAfterWrite(retention)
+				.build();
+	}
+
+	public TransactionResponse execute(
+			String userId,
+			String accountNumber,
+			String idempotencyKey,
+			String requestHash,
+			Function<String, TransactionResponse> action
+	) {
+		String keyId = userId + ":" + idempotencyKey;
+		CompletedRequest cached = completed.getIfPresent(keyId);
+		if (cached != null) {
+			return cached.responseFor(accountNumber, requestHash);
+		}
+
+		CompletableFuture<CompletedRequest> mine = new CompletableFuture<>();
+		CompletableFuture<CompletedRequest> existing = inFlight.putIfAbsent(keyId, mine);
+		if (existing != null) {
+			return await(existing).responseFor(accountNumber, requestHash);
+		}
+
+		try {
+			CompletedRequest result = findPersisted(keyId)
+					.orElseGet(() -> runOnce(keyId, accountNumber, requestHash, action));
+			completed.put(keyId, result);
+			mine.complete(result);
+			return result.responseFor(accountNumber, requestHash);
+		} catch (RuntimeException ex) {
+			mine.completeExceptionally(ex);
+			throw ex;
+		} finally {
+			inFlight.remove(keyId, mine);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.transactions.idempotency.purge-interval:PT1H}")
+	@Transactional
+	public void purgeExpired() {
+		idempotencyKeyRepository.deleteCreatedBefore(OffsetDateTime.now().minus(retention));
+	}
+
+	private CompletedRequest runOnce(
+			String keyId,
+			String accountNumber,
+			String requestHash,
+			Function<String, TransactionResponse> action
+	) {
+		try {
+			return new CompletedRequest(accountNumber, requestHash, action.apply(keyId));
+		} catch (DataIntegrityViolationException ex) {
+			// Another node committed the same key first; hand back its result instead.
+			return findPersisted(keyId).orElseThrow(() -> ex);
+		}
+	}
+
+	// A read-write transaction keeps this on the primary: a lagging replica could miss a key committed elsewhere.
+	// Keys outlive the archive horizon, so the posting is looked up the same way GET by id finds it.
+	private Optional<CompletedRequest> findPersisted(String keyId) {
+		return transactionTemplate.execute(status -> idempotencyKeyRepository.findById(keyId)
+				.flatMap(key -> findTransaction(key.getTransactionId(), key.getAccountId())
+						.map(transaction -> new CompletedRequest(
+								key.getAccountId(),
+								key.getRequestHash(),
+								transactionMapper.toResponse(transaction)
+						))));
+	}
+
+	private Optional<TransactionView> findTransaction(String transactionId, String accountId) {
+		return transactionRepository.findViewByIdAndAccountId(transactionId, accountId)
+				.or(() -> transactionArchive.holdsAny()
+						? transactionArchive.findView(transactionId, accountId)
+						: Optional.empty());
+	}
+
+	private static CompletedRequest await(CompletableFuture<CompletedRequest> result) {
+		try {
+			return result.join();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	private record CompletedRequest(String accountNumber, String requestHash, TransactionResponse response) {
+		TransactionResponse responseFor(String requestedAccountNumber, String requestedHash) {
+			if (!accountNumber.equals(requestedAccountNumber)) {
+				throw new ConflictException(KEY_REUSED_MESSAGE);
+			}
+			if (requestHash != null && !requestHash.equals(requestedHash)) {
+				throw new ConflictException(REQUEST_CHANGED_MESSAGE);
+			}
+			return response;
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package com.eaglebank.bankapi.transaction;
+
+public enum PostingMode {
+	OPTIMISTIC,
+	ATOMIC,
+	GROUP_COMMIT
+}
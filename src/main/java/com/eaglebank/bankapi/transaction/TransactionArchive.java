@@ -0,0 +1,112 @@
+package com.eaglebank.bankapi.transaction;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionArchive {
+	// Closed accounts keep their archived rows until AccountPurger gets to them; readers must not see those.
+	private static final String SELECT_VIEW = """
+			select id, amount, currency, type, reference, user_id, balance_after, created_timestamp
+			from transactions_archive
+			where exists (
+				select 1 from accounts a where a.id = transactions_archive.account_id and a.closed_timestamp is null
+			)
+			""";
+
+	private final JdbcTemplate jdbcTemplate;
+	// Until the boundary has been read, assume anything may have been archived.
+	private volatile OffsetDateTime archivedBefore = OffsetDateTime.MAX;
+
+	public TransactionArchive(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	// Maintenance waits longer than this interval between publishing a boundary and moving rows behind it,
+	// so a node's cached value is never behind the rows actually archived.
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${app.transactions.archive.boundary-refresh-interval:PT1M}")
+	public void refresh() {
+		OffsetDateTime boundary = jdbcTemplate.queryForObject(
+				"select archived_before from transactions_archive_boundary where id = 1",
+				OffsetDateTime.class
+		);
+		archivedBefore = boundary == null ? OffsetDateTime.MIN : boundary;
+	}
+
+	public boolean holdsAny() {
+		return archivedBefore.isAfter(OffsetDateTime.MIN);
+	}
+
+	// A page starting at the beginning (after == null) or before the boundary may begin in the archive.
+	public boolean mayHoldRowsAfter(OffsetDateTime after) {
+		return after == null ? holdsAny() : after.isBefore(archivedBefore);
+	}
+
+	public Optional<TransactionView> findView(String id, String accountId) {
+		return jdbcTemplate.query(
+				SELECT_VIEW + "and id = ? and account_id = ?",
+				TransactionArchive::toView,
+				id,
+				accountId
+		).stream().findFirst();
+	}
+
+	public List<TransactionView> findFirstPage(String accountId, int limit) {
+		return jdbcTemplate.query(
+				SELECT_VIEW + "and account_id = ? order by created_timestamp, id limit ?",
+				TransactionArchive::toView,
+				accountId,
+				limit
+		);
+	}
+
+	public List<TransactionView> findPageAfter(String accountId, OffsetDateTime createdTimestamp, String id, int limit) {
+		return jdbcTemplate.query(
+				SELECT_VIEW + """
+						and account_id = ? and (created_timestamp, id) > (?, ?)
+						order by created_timestamp, id limit ?
+						""",
+				TransactionArchive::toView,
+				accountId,
+				createdTimestamp,
+				id,
+				limit
+		);
+	}
+
+	public Optional<BigDecimal> findBalanceAsOf(String accountId, OffsetDateTime asOf) {
+		return jdbcTemplate.query(
+				"""
+						select balance_after from transactions_archive
+						where account_id = ? and created_timestamp <= ?
+						order by created_timestamp desc, id desc limit 1
+						""",
+				(rs, rowNum) -> rs.getBigDecimal(1),
+				accountId,
+				asOf
+		).stream().findFirst();
+	}
+
+	private static TransactionView toView(ResultSet rs, int rowNum) throws SQLException {
+		return new TransactionView(
+				rs.getString("id"),
+				rs.getBigDecimal("amount"),
+				rs.getString("currency"),
+				rs.getString("type"),
+				rs.getString("reference"),
+				rs.getString("user_id"),
+				rs.getBigDecimal("balance_after"),
+				rs.getObject("created_timestamp", OffsetDateTime.class)
+		);
+	}
+}
@@ -1,9 +1,13 @@
 package com.eaglebank.bankapi.transaction;
 
 import com.eaglebank.generated.api.TransactionApi;
+import com.eaglebank.generated.model.BalanceResponse;
+import com.eaglebank.generated.model.CreateTransactionBatchRequest;
 import com.eaglebank.generated.model.CreateTransactionRequest;
 import com.eaglebank.generated.model.ListTransactionsResponse;
+import com.eaglebank.generated.model.TransactionBatchResponse;
 import com.eaglebank.generated.model.TransactionResponse;
+import java.time.OffsetDateTime;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,15 +23,34 @@ public class TransactionController implements TransactionApi {
 	@Override
 	public ResponseEntity<TransactionResponse> createTransaction(
 			String accountNumber,
-			CreateTransactionRequest createTransactionRequest
+			CreateTransactionRequest createTransactionRequest,
+			String idempotencyKey
 	) {
-		TransactionResponse response = transactionService.create(accountNumber, createTransactionRequest);
+		TransactionResponse response = transactionService.create(accountNumber, createTransactionRequest, idempotencyKey);
 		return ResponseEntity.status(HttpStatus.CREATED).body(response);
 	}
 
 	@Override
-	public ResponseEntity<ListTransactionsResponse> listAccountTransaction(String accountNumber) {
-		return ResponseEntity.ok(transactionService.list(accountNumber));
+	public ResponseEntity<TransactionBatchResponse> createTransactionBatch(
+			String accountNumber,
+			CreateTransactionBatchRequest createTransactionBatchRequest
+	) {
+		TransactionBatchResponse response = transactionService.createBatch(accountNumber, createTransactionBatchRequest);
+		return ResponseEntity.status(HttpStatus.CREATED).body(response);
+	}
+
+	@Override
+	public ResponseEntity<ListTransactionsResponse> listAccountTransaction(
+			String accountNumber,
+			Integer limit,
+			String after
+	) {
+		return ResponseEntity.ok(transactionService.list(accountNumber, limit, after));
+	}
+
+	@Override
+	public ResponseEntity<BalanceResponse> fetchAccountBalance(String accountNumber, OffsetDateTime asOf) {
+		return ResponseEntity.ok(transactionService.fetchBalance(accountNumber, asOf));
 	}
 
 	@Override
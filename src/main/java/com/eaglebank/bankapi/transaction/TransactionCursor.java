@@ -0,0 +1,43 @@
+package com.eaglebank.bankapi.transaction;
+
+import com.eaglebank.bankapi.error.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+record TransactionCursor(OffsetDateTime createdTimestamp, String id) {
+	private static final char SEPARATOR = '|';
+
+	static TransactionCursor of(TransactionView view) {
+		return new TransactionCursor(view.createdTimestamp(), view.id());
+	}
+
+	static TransactionCursor decode(String value) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+			int separator = decoded.indexOf(SEPARATOR);
+			if (separator <= 0 || separator == decoded.length() - 1) {
+				throw invalid();
+			}
+			Instant createdAt = Instant.parse(decoded.substring(0, separator));
+			return new TransactionCursor(
+					OffsetDateTime.ofInstant(createdAt, ZoneOffset.UTC),
+					decoded.substring(separator + 1)
+			);
+		} catch (IllegalArgumentException | DateTimeException ex) {
+			throw invalid();
+		}
+	}
+
+	String encode() {
+		String raw = createdTimestamp.toInstant().toString() + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static BadRequestException invalid() {
+		return new BadRequestException("after", "Invalid pagination cursor");
+	}
+}
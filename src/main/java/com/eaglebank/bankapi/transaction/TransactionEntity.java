@@ -4,32 +4,38 @@ import com.eaglebank.bankapi.account.AccountEntity;
 import com.eaglebank.bankapi.user.UserEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "transactions")
 @Getter
 @Setter
 @NoArgsConstructor
-public class TransactionEntity {
+public class TransactionEntity implements Persistable<String> {
 	@Id
 	@Column(name = "id", nullable = false, length = 64)
 	private String id;
 
-	@ManyToOne(optional = false)
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
 	@JoinColumn(name = "account_id", nullable = false)
 	private AccountEntity account;
 
-	@ManyToOne(optional = false)
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
 	@JoinColumn(name = "user_id", nullable = false)
 	private UserEntity user;
 
@@ -45,7 +51,34 @@ public class TransactionEntity {
 	@Column(name = "reference")
 	private String reference;
 
+	@Column(name = "balance_after", nullable = false, precision = 12, scale = 2)
+	private BigDecimal balanceAfter;
+
+	// Posting code stamps this itself so the row, the account summary and the outbox event share one value.
 	@Column(name = "created_timestamp", nullable = false)
-	@CreationTimestamp
 	private OffsetDateTime createdTimestamp;
+
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean newEntity = true;
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	// Runs at persist rather than at flush, so callers see the value straight after save().
+	@PrePersist
+	void stampCreation() {
+		if (createdTimestamp == null) {
+			createdTimestamp = OffsetDateTime.now();
+		}
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		newEntity = false;
+	}
 }
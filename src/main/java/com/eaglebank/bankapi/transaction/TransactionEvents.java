@@ -0,0 +1,56 @@
+package com.eaglebank.bankapi.transaction;
+
+import com.eaglebank.bankapi.account.AccountSummaryEntity;
+import com.eaglebank.bankapi.account.AccountSummaryRepository;
+import com.eaglebank.bankapi.outbox.OutboxWriter;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionEvents {
+	private final OutboxWriter outboxWriter;
+	private final TransactionMapper transactionMapper;
+	private final AccountSummaryRepository accountSummaryRepository;
+
+	public TransactionEvents(
+			OutboxWriter outboxWriter,
+			TransactionMapper transactionMapper,
+			AccountSummaryRepository accountSummaryRepository
+	) {
+		this.outboxWriter = outboxWriter;
+		this.transactionMapper = transactionMapper;
+		this.accountSummaryRepository = accountSummaryRepository;
+	}
+
+	// Runs inside the posting transaction, so the outbox and the summary never disagree with the ledger.
+	void posted(String accountNumber, List<TransactionEntity> transactions) {
+		if (transactions.isEmpty()) {
+			return;
+		}
+		BigDecimal credited = BigDecimal.ZERO;
+		BigDecimal debited = BigDecimal.ZERO;
+		for (TransactionEntity transaction : transactions) {
+			// The poster stamps every posting before saving it; an event must never announce a null timestamp.
+			Objects.requireNonNull(transaction.getCreatedTimestamp(), "Posting has no created timestamp");
+			outboxWriter.append("account", accountNumber, "transaction.created", transactionMapper.toResponse(transaction));
+			if (TransactionPoster.isWithdrawal(transaction)) {
+				debited = debited.add(transaction.getAmount());
+			} else {
+				credited = credited.add(transaction.getAmount());
+			}
+		}
+
+		TransactionEntity latest = transactions.get(transactions.size() - 1);
+		accountSummaryRepository.recordPostings(
+				accountNumber,
+				latest.getBalanceAfter(),
+				transactions.size(),
+				latest.getCreatedTimestamp(),
+				AccountSummaryEntity.monthStart(latest.getCreatedTimestamp()),
+				credited,
+				debited
+		);
+	}
+}
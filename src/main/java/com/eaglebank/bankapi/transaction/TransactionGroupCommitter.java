@@ -0,0 +1,259 @@
+package com.eaglebank.bankapi.transaction;
+
+import com.eaglebank.bankapi.account.AccountEntity;
+import com.eaglebank.bankapi.account.AccountRepository;
+import com.eaglebank.bankapi.error.NotFoundException;
+import com.eaglebank.bankapi.error.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class TransactionGroupCommitter {
+	static final String TIMED_OUT_MESSAGE = "The posting could not be committed in time, retry later";
+
+	private final AccountRepository accountRepository;
+	private final TransactionRepository transactionRepository;
+	private final IdempotencyKeyRepository idempotencyKeyRepository;
+	private final TransactionEvents transactionEvents;
+	private final TransactionTemplate transactionTemplate;
+	private final long windowMillis;
+	private final int maxBatchSize;
+	private final Duration awaitTimeout;
+	private final ScheduledExecutorService scheduler;
+	private final ConcurrentHashMap<String, List<PendingPosting>> pending = new ConcurrentHashMap<>();
+
+	@Autowired
+	public TransactionGroupCommitter(
+			AccountRepository accountRepository,
+			TransactionRepository transactionRepository,
+			IdempotencyKeyRepository idempotencyKeyRepository,
+			TransactionEvents transactionEvents,
+			TransactionTemplate transactionTemplate,
+			@Value("${app.transactions.group-commit.window-ms:5}") long windowMillis,
+			@Value("${app.transactions.group-commit.max-batch-size:256}") int maxBatchSize,
+			@Value("${app.transactions.group-commit.threads:2}") int threads,
+			@Value("${app.transactions.group-commit.await-timeout:2s}") Duration awaitTimeout,
+			@Value("${app.transactions.group-commit.flush-timeout:10s}") Duration flushTimeout
+	) {
+		this(
+				accountRepository,
+				transactionRepository,
+				idempotencyKeyRepository,
+				transactionEvents,
+				transactionTemplate,
+				windowMillis,
+				maxBatchSize,
+				Executors.newScheduledThreadPool(
+						threads,
+						Thread.ofPlatform().name("txn-group-commit-", 0).daemon().factory()
+				),
+				awaitTimeout,
+				flushTimeout
+		);
+	}
+
+	TransactionGroupCommitter(
+			AccountRepository accountRepository,
+			TransactionRepository transactionRepository,
+			IdempotencyKeyRepository idempotencyKeyRepository,
+			TransactionEvents transactionEvents,
+			TransactionTemplate transactionTemplate,
+			long windowMillis,
+			int maxBatchSize,
+			ScheduledExecutorService scheduler,
+			Duration awaitTimeout,
+			Duration flushTimeout
+	) {
+		this.accountRepository = accountRepository;
+		this.transactionRepository = transactionRepository;
+		this.idempotencyKeyRepository = idempotencyKeyRepository;
+		this.transactionEvents = transactionEvents;
+		// Callers whose posting is being applied wait for the flush's real outcome, so the flush itself is bounded.
+		this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+		this.transactionTemplate.setTimeout((int) flushTimeout.toSeconds());
+		this.windowMillis = windowMillis;
+		this.maxBatchSize = maxBatchSize;
+		this.awaitTimeout = awaitTimeout;
+		this.scheduler = scheduler;
+	}
+
+	public TransactionEntity submit(String accountNumber, String userId, TransactionEntity entity, String idempotencyKeyId) {
+		PendingPosting posting = new PendingPosting(userId, entity, idempotencyKeyId);
+		pending.compute(accountNumber, (key, batch) -> {
+			if (batch == null) {
+				List<PendingPosting> opened = new ArrayList<>();
+				scheduler.schedule(() -> flush(key, opened), windowMillis, TimeUnit.MILLISECONDS);
+				batch = opened;
+			}
+			batch.add(posting);
+			if (batch.size() >= maxBatchSize) {
+				List<PendingPosting> full = batch;
+				scheduler.execute(() -> commit(key, full));
+				return null;
+			}
+			return batch;
+		});
+		return await(posting);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		scheduler.shutdown();
+		try {
+			scheduler.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void flush(String accountNumber, List<PendingPosting> batch) {
+		if (pending.remove(accountNumber, batch)) {
+			commit(accountNumber, batch);
+		}
+	}
+
+	private void commit(String accountNumber, List<PendingPosting> batch) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> apply(accountNumber, batch));
+		} catch (RuntimeException ex) {
+			batch.forEach(posting -> posting.result.completeExceptionally(ex));
+			return;
+		}
+		batch.forEach(PendingPosting::complete);
+	}
+
+	private void apply(String accountNumber, List<PendingPosting> batch) {
+		AccountEntity account = accountRepository.findByIdForUpdate(accountNumber).orElse(null);
+		List<TransactionEntity> accepted = new ArrayList<>(batch.size());
+		OffsetDateTime postedAt = TransactionPoster.postingTime();
+		for (PendingPosting posting : batch) {
+			if (!posting.claim()) {
+				continue;
+			}
+			posting.rejection = null;
+			try {
+				if (account == null) {
+					throw new NotFoundException("Bank account was not found");
+				}
+				TransactionPoster.validateOwnership(account, posting.userId);
+				BigDecimal balanceBefore = account.getBalance();
+				TransactionPoster.applyBalanceChange(account, posting.entity);
+				if (!claimIdempotencyKey(account, posting)) {
+					account.setBalance(balanceBefore);
+					throw new DuplicateKeyException("The idempotency key was already used");
+				}
+				posting.entity.setAccount(account);
+				posting.entity.setUser(account.getUser());
+				posting.entity.setCreatedTimestamp(postedAt);
+				accepted.add(posting.entity);
+			} catch (RuntimeException ex) {
+				posting.rejection = ex;
+			}
+		}
+		if (!accepted.isEmpty()) {
+			transactionRepository.saveAll(accepted);
+			transactionEvents.posted(accountNumber, accepted);
+		}
+	}
+
+	// A key another node already stored must only fail its own posting. A unique violation would abort the
+	// whole batch transaction, so the insert skips conflicts and the caller resolves the duplicate.
+	private boolean claimIdempotencyKey(AccountEntity account, PendingPosting posting) {
+		return posting.idempotencyKeyId == null || idempotencyKeyRepository.claim(
+				posting.idempotencyKeyId,
+				posting.userId,
+				account.getId(),
+				posting.entity.getId(),
+				IdempotencyKeyEntity.requestHashOf(posting.entity)
+		) == 1;
+	}
+
+	// A stalled flush (a lock wait, a starved pool) must not pile up request threads. A posting the flush has
+	// not reached yet is withdrawn and answered with 503, so a retry cannot double-post. Once the flush is
+	// applying a posting its outcome is decided by that commit, so the caller waits for it; the flush
+	// transaction's timeout bounds that wait.
+	private TransactionEntity await(PendingPosting posting) {
+		try {
+			try {
+				return posting.result.get(awaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+			} catch (TimeoutException ex) {
+				if (posting.abandon()) {
+					throw new ServiceUnavailableException(TIMED_OUT_MESSAGE);
+				}
+				return posting.result.get();
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			if (posting.abandon()) {
+				throw new ServiceUnavailableException(TIMED_OUT_MESSAGE);
+			}
+			try {
+				return posting.result.join();
+			} catch (CompletionException joined) {
+				throw unwrap(joined.getCause());
+			}
+		} catch (ExecutionException ex) {
+			throw unwrap(ex.getCause());
+		}
+	}
+
+	private static RuntimeException unwrap(Throwable cause) {
+		return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+	}
+
+	private static final class PendingPosting {
+		private static final int PENDING = 0;
+		private static final int APPLYING = 1;
+		private static final int ABANDONED = 2;
+
+		private final String userId;
+		private final TransactionEntity entity;
+		private final String idempotencyKeyId;
+		private final CompletableFuture<TransactionEntity> result = new CompletableFuture<>();
+		private final AtomicInteger state = new AtomicInteger(PENDING);
+		private RuntimeException rejection;
+
+		private PendingPosting(String userId, TransactionEntity entity, String idempotencyKeyId) {
+			this.userId = userId;
+			this.entity = entity;
+			this.idempotencyKeyId = idempotencyKeyId;
+		}
+
+		private boolean claim() {
+			return state.get() == APPLYING || state.compareAndSet(PENDING, APPLYING);
+		}
+
+		private boolean abandon() {
+			return state.compareAndSet(PENDING, ABANDONED);
+		}
+
+		private void complete() {
+			if (state.get() == ABANDONED) {
+				return;
+			}
+			if (rejection != null) {
+				result.completeExceptionally(rejection);
+			} else {
+				result.complete(entity);
+			}
+		}
+	}
+}
@@ -12,6 +12,7 @@ public interface TransactionMapper {
 	@Mapping(target = "createdTimestamp", ignore = true)
 	@Mapping(target = "account", ignore = true)
 	@Mapping(target = "user", ignore = true)
+	@Mapping(target = "balanceAfter", ignore = true)
 	@Mapping(target = "currency", source = "currency", qualifiedByName = "currencyToValue")
 	@Mapping(target = "type", source = "type", qualifiedByName = "typeToValue")
 	TransactionEntity toEntity(CreateTransactionRequest request);
@@ -21,6 +22,10 @@ public interface TransactionMapper {
 	@Mapping(target = "userId", source = "user.id")
 	TransactionResponse toResponse(TransactionEntity entity);
 
+	@Mapping(target = "currency", source = "currency", qualifiedByName = "currencyFromValue")
+	@Mapping(target = "type", source = "type", qualifiedByName = "typeFromValue")
+	TransactionResponse toResponse(TransactionView view);
+
 	@Named("currencyToValue")
 	static String currencyToValue(CreateTransactionRequest.CurrencyEnum currency) {
 		return currency == null ? null : currency.getValue();
@@ -0,0 +1,168 @@
+package com.eaglebank.bankapi.transaction;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class TransactionPartitionMaintenance {
+	static final String DEFAULT_PARTITION = "transactions_default";
+	private static final Pattern MONTHLY_PARTITION = Pattern.compile("transactions_y(\\d{4})m(\\d{2})");
+	private static final long LOCK_ID = 0x7472616e73L;
+	private static final String COLUMNS =
+			"id, account_id, user_id, amount, currency, type, reference, balance_after, created_timestamp";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int monthsAhead;
+	private final int archiveAfterMonths;
+	private final Duration settleDelay;
+
+	public TransactionPartitionMaintenance(
+			JdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate,
+			@Value("${app.transactions.partitions.months-ahead:3}") int monthsAhead,
+			@Value("${app.transactions.archive.after-months:12}") int archiveAfterMonths,
+			@Value("${app.transactions.archive.settle-delay:PT5M}") Duration settleDelay
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.monthsAhead = monthsAhead;
+		this.archiveAfterMonths = archiveAfterMonths;
+		this.settleDelay = settleDelay;
+	}
+
+	@Scheduled(fixedDelayString = "${app.transactions.partitions.maintenance-interval:PT1H}")
+	public void maintain() {
+		YearMonth current = YearMonth.now(ZoneOffset.UTC);
+		for (int i = 0; i <= monthsAhead; i++) {
+			YearMonth month = current.plusMonths(i);
+			inLockedTransaction(() -> createPartition(month));
+		}
+
+		// Readers only consult the archive below the published boundary, and each node caches it for up to
+		// app.transactions.archive.boundary-refresh-interval. Rows therefore move only behind a boundary that has
+		// been published for settleDelay; raising it now lets the next run move the newly cold months.
+		settledBoundary().ifPresent(archivedBefore -> {
+			for (String partition : partitions()) {
+				monthOf(partition)
+						.filter(month -> !startOf(month.plusMonths(1)).isAfter(archivedBefore))
+						.ifPresent(month -> inLockedTransaction(() -> archivePartition(partition)));
+			}
+			inLockedTransaction(() -> archiveDefaultPartition(archivedBefore));
+		});
+		YearMonth cutoff = current.minusMonths(archiveAfterMonths);
+		inLockedTransaction(() -> raiseBoundary(startOf(cutoff)));
+	}
+
+	static String partitionName(YearMonth month) {
+		return String.format("transactions_y%04dm%02d", month.getYear(), month.getMonthValue());
+	}
+
+	static Optional<YearMonth> monthOf(String partition) {
+		Matcher matcher = MONTHLY_PARTITION.matcher(partition);
+		if (!matcher.matches()) {
+			return Optional.empty();
+		}
+		return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+	}
+
+	private void createPartition(YearMonth month) {
+		String partition = partitionName(month);
+		if (partitions().contains(partition)) {
+			return;
+		}
+		// Postgres refuses a new partition while the default one holds rows in its range, so the month is built
+		// standalone, those rows move across, and only then is it attached.
+		jdbcTemplate.execute("create table " + partition + " (like transactions including defaults including constraints)");
+		jdbcTemplate.update(
+				"with moved as (delete from " + DEFAULT_PARTITION + " where created_timestamp >= ? and created_timestamp < ?"
+						+ " returning " + COLUMNS + ") insert into " + partition + " (" + COLUMNS + ") select " + COLUMNS
+						+ " from moved",
+				startOf(month),
+				startOf(month.plusMonths(1))
+		);
+		jdbcTemplate.execute("alter table transactions attach partition " + partition + " for values from ('"
+				+ startOf(month) + "') to ('" + startOf(month.plusMonths(1)) + "')");
+	}
+
+	private Optional<OffsetDateTime> settledBoundary() {
+		return jdbcTemplate.query(
+				"""
+						select archived_before from transactions_archive_boundary
+						where id = 1 and archived_before is not null
+						and published_timestamp <= now() - make_interval(secs => ?)
+						""",
+				(rs, rowNum) -> rs.getObject(1, OffsetDateTime.class),
+				settleDelay.toSeconds()
+		).stream().findFirst();
+	}
+
+	private void raiseBoundary(OffsetDateTime target) {
+		jdbcTemplate.update(
+				"""
+						update transactions_archive_boundary set archived_before = ?, published_timestamp = now()
+						where id = 1 and (archived_before is null or archived_before < ?)
+						""",
+				target,
+				target
+		);
+	}
+
+	private void archivePartition(String partition) {
+		if (!partitions().contains(partition)) {
+			return;
+		}
+		// Copy first and detach last: detaching takes an exclusive lock on the parent, and holding it only
+		// until commit keeps hot reads and writes blocked for a moment rather than for the whole copy.
+		jdbcTemplate.update("insert into transactions_archive (" + COLUMNS + ") select " + COLUMNS
+				+ " from " + partition);
+		jdbcTemplate.execute("alter table transactions detach partition " + partition);
+		jdbcTemplate.execute("drop table " + partition);
+	}
+
+	private void archiveDefaultPartition(OffsetDateTime archivedBefore) {
+		jdbcTemplate.update(
+				"with moved as (delete from " + DEFAULT_PARTITION + " where created_timestamp < ? returning "
+						+ COLUMNS + ") insert into transactions_archive (" + COLUMNS + ") select " + COLUMNS
+						+ " from moved",
+				archivedBefore
+		);
+	}
+
+	private List<String> partitions() {
+		return jdbcTemplate.queryForList(
+				"""
+						select child.relname from pg_inherits
+						join pg_class child on child.oid = pg_inherits.inhrelid
+						join pg_class parent on parent.oid = pg_inherits.inhparent
+						where parent.relname = 'transactions'
+						""",
+				String.class
+		);
+	}
+
+	private void inLockedTransaction(Runnable step) {
+		transactionTemplate.executeWithoutResult(status -> {
+			// Every node runs this job; the advisory lock keeps two of them from racing on the same DDL.
+			Boolean locked = jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_ID);
+			if (Boolean.TRUE.equals(locked)) {
+				step.run();
+			}
+		});
+	}
+
+	private static OffsetDateTime startOf(YearMonth month) {
+		return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+	}
+}
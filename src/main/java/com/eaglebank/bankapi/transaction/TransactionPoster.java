@@ -0,0 +1,168 @@
+package com.eaglebank.bankapi.transaction;
+
+import com.eaglebank.bankapi.account.AccountEntity;
+import com.eaglebank.bankapi.account.AccountOwnerCache;
+import com.eaglebank.bankapi.account.AccountRepository;
+import com.eaglebank.bankapi.error.NotFoundException;
+import com.eaglebank.bankapi.error.UnprocessableEntityException;
+import com.eaglebank.bankapi.user.UserRepository;
+import jakarta.persistence.OptimisticLockException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class TransactionPoster {
+	static final String NOT_OWNER_MESSAGE = "The user is not allowed to delete the bank account details";
+	static final String INSUFFICIENT_FUNDS_MESSAGE = "Insufficient funds to process transaction";
+
+	private final AccountRepository accountRepository;
+	private final TransactionRepository transactionRepository;
+	private final IdempotencyKeyRepository idempotencyKeyRepository;
+	private final AccountOwnerCache accountOwnerCache;
+	private final UserRepository userRepository;
+	private final TransactionEvents transactionEvents;
+	private final PostingMode postingMode;
+
+	public TransactionPoster(
+			AccountRepository accountRepository,
+			TransactionRepository transactionRepository,
+			IdempotencyKeyRepository idempotencyKeyRepository,
+			AccountOwnerCache accountOwnerCache,
+			UserRepository userRepository,
+			TransactionEvents transactionEvents,
+			@Value("${app.transactions.posting-mode:atomic}") PostingMode postingMode
+	) {
+		this.accountRepository = accountRepository;
+		this.transactionRepository = transactionRepository;
+		this.idempotencyKeyRepository = idempotencyKeyRepository;
+		this.accountOwnerCache = accountOwnerCache;
+		this.userRepository = userRepository;
+		this.transactionEvents = transactionEvents;
+		this.postingMode = postingMode;
+	}
+
+	@Transactional
+	@Retryable(
+			retryFor = {ObjectOptimisticLockingFailureException.class, OptimisticLockException.class},
+			maxAttempts = 3,
+			backoff = @Backoff(delay = 50)
+	)
+	public TransactionEntity post(String accountNumber, String userId, TransactionEntity entity, String idempotencyKeyId) {
+		if (postingMode == PostingMode.OPTIMISTIC) {
+			AccountEntity account = accountRepository.findById(accountNumber)
+					.orElseThrow(() -> new NotFoundException("Bank account was not found"));
+			validateOwnership(account, userId);
+			claimIdempotencyKey(idempotencyKeyId, userId, accountNumber, entity);
+
+			entity.setAccount(account);
+			entity.setUser(account.getUser());
+			applyBalanceChange(account, entity);
+			accountRepository.save(account);
+		} else {
+			String ownerId = accountOwnerCache.ownerOf(accountNumber)
+					.orElseThrow(() -> new NotFoundException("Bank account was not found"));
+			validateOwnership(ownerId, userId);
+			claimIdempotencyKey(idempotencyKeyId, userId, accountNumber, entity);
+
+			// Only the guarded update touches the account row, so the posting needs references, not a load.
+			entity.setAccount(accountRepository.getReferenceById(accountNumber));
+			entity.setUser(userRepository.getReferenceById(userId));
+			postBalanceChange(accountNumber, entity);
+			// The guarded update still holds the row lock, so this read is the balance this posting produced.
+			entity.setBalanceAfter(accountRepository.findBalanceById(accountNumber));
+		}
+
+		entity.setCreatedTimestamp(postingTime());
+		TransactionEntity saved = transactionRepository.save(entity);
+		transactionEvents.posted(accountNumber, List.of(saved));
+		return saved;
+	}
+
+	@Transactional
+	public List<TransactionEntity> postBatch(String accountNumber, String userId, List<TransactionEntity> entities) {
+		AccountEntity account = accountRepository.findByIdForUpdate(accountNumber)
+				.orElseThrow(() -> new NotFoundException("Bank account was not found"));
+		validateOwnership(account, userId);
+
+		OffsetDateTime postedAt = postingTime();
+		for (TransactionEntity entity : entities) {
+			applyBalanceChange(account, entity);
+			entity.setAccount(account);
+			entity.setUser(account.getUser());
+			entity.setCreatedTimestamp(postedAt);
+		}
+
+		List<TransactionEntity> saved = transactionRepository.saveAll(entities);
+		transactionEvents.posted(accountNumber, saved);
+		return saved;
+	}
+
+	static void validateOwnership(AccountEntity account, String userId) {
+		validateOwnership(account.getUser().getId(), userId);
+	}
+
+	static void validateOwnership(String ownerId, String userId) {
+		if (!userId.equals(ownerId)) {
+			throw new AccessDeniedException(NOT_OWNER_MESSAGE);
+		}
+	}
+
+	static void applyBalanceChange(AccountEntity account, TransactionEntity transaction) {
+		BigDecimal amount = safeAmount(transaction.getAmount());
+		BigDecimal balance = safeAmount(account.getBalance());
+		if (isWithdrawal(transaction)) {
+			if (balance.compareTo(amount) < 0) {
+				throw new UnprocessableEntityException(INSUFFICIENT_FUNDS_MESSAGE);
+			}
+			account.setBalance(balance.subtract(amount));
+		} else {
+			account.setBalance(balance.add(amount));
+		}
+		transaction.setBalanceAfter(account.getBalance());
+	}
+
+	private void postBalanceChange(String accountId, TransactionEntity transaction) {
+		BigDecimal amount = safeAmount(transaction.getAmount());
+		OffsetDateTime now = OffsetDateTime.now();
+		int updated = isWithdrawal(transaction)
+				? accountRepository.debit(accountId, amount, now)
+				: accountRepository.credit(accountId, amount, now);
+		if (updated == 0) {
+			// Ownership came from the cache, so a missing row means the account is gone, not short of funds.
+			if (!accountRepository.existsById(accountId)) {
+				accountOwnerCache.invalidate(accountId);
+				throw new NotFoundException("Bank account was not found");
+			}
+			throw new UnprocessableEntityException(INSUFFICIENT_FUNDS_MESSAGE);
+		}
+	}
+
+	private void claimIdempotencyKey(String keyId, String userId, String accountNumber, TransactionEntity entity) {
+		if (keyId != null) {
+			// Claim the key before touching the balance so a concurrent duplicate blocks on the unique id here.
+			idempotencyKeyRepository.saveAndFlush(IdempotencyKeyEntity.of(keyId, userId, accountNumber, entity));
+		}
+	}
+
+	// Column precision, so the response and the outbox event carry exactly what the row stores.
+	static OffsetDateTime postingTime() {
+		return OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+	}
+
+	static boolean isWithdrawal(TransactionEntity transaction) {
+		return "withdrawal".equalsIgnoreCase(transaction.getType());
+	}
+
+	private static BigDecimal safeAmount(BigDecimal amount) {
+		return amount == null ? BigDecimal.ZERO : amount;
+	}
+}
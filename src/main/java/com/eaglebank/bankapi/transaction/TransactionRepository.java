@@ -1,11 +1,59 @@
 package com.eaglebank.bankapi.transaction;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface TransactionRepository extends JpaRepository<TransactionEntity, String> {
-	List<TransactionEntity> findAllByAccount_Id(String accountId);
+	@Query("""
+			select new com.eaglebank.bankapi.transaction.TransactionView(
+				t.id, t.amount, t.currency, t.type, t.reference, t.user.id, t.balanceAfter, t.createdTimestamp
+			)
+			from TransactionEntity t
+			where t.account.id = :accountId and t.account.closedTimestamp is null
+			order by t.createdTimestamp asc, t.id asc
+			""")
+	List<TransactionView> findFirstPage(@Param("accountId") String accountId, Pageable pageable);
 
-	Optional<TransactionEntity> findByIdAndAccount_Id(String id, String accountId);
+	@Query("""
+			select new com.eaglebank.bankapi.transaction.TransactionView(
+				t.id, t.amount, t.currency, t.type, t.reference, t.user.id, t.balanceAfter, t.createdTimestamp
+			)
+			from TransactionEntity t
+			where t.account.id = :accountId and t.account.closedTimestamp is null
+				and (t.createdTimestamp, t.id) > (:createdTimestamp, :id)
+			order by t.createdTimestamp asc, t.id asc
+			""")
+	List<TransactionView> findPageAfter(
+			@Param("accountId") String accountId,
+			@Param("createdTimestamp") OffsetDateTime createdTimestamp,
+			@Param("id") String id,
+			Pageable pageable
+	);
+
+	@Query("""
+			select t.balanceAfter from TransactionEntity t
+			where t.account.id = :accountId
+				and t.createdTimestamp <= :asOf
+			order by t.createdTimestamp desc, t.id desc
+			""")
+	List<BigDecimal> findBalanceAsOf(
+			@Param("accountId") String accountId,
+			@Param("asOf") OffsetDateTime asOf,
+			Pageable pageable
+	);
+
+	@Query("""
+			select new com.eaglebank.bankapi.transaction.TransactionView(
+				t.id, t.amount, t.currency, t.type, t.reference, t.user.id, t.balanceAfter, t.createdTimestamp
+			)
+			from TransactionEntity t
+			where t.id = :id and t.account.id = :accountId and t.account.closedTimestamp is null
+			""")
+	Optional<TransactionView> findViewByIdAndAccountId(@Param("id") String id, @Param("accountId") String accountId);
 }
@@ -1,85 +1,182 @@
 package com.eaglebank.bankapi.transaction;
 
 import com.eaglebank.bankapi.account.AccountEntity;
+import com.eaglebank.bankapi.account.AccountOwnerCache;
 import com.eaglebank.bankapi.account.AccountRepository;
 import com.eaglebank.bankapi.error.NotFoundException;
-import com.eaglebank.bankapi.error.UnprocessableEntityException;
+import com.eaglebank.bankapi.id.TimeOrderedIds;
 import com.eaglebank.bankapi.security.CurrentUserService;
+import com.eaglebank.generated.model.BalanceResponse;
+import com.eaglebank.generated.model.CreateTransactionBatchRequest;
 import com.eaglebank.generated.model.CreateTransactionRequest;
 import com.eaglebank.generated.model.ListTransactionsResponse;
+import com.eaglebank.generated.model.TransactionBatchResponse;
 import com.eaglebank.generated.model.TransactionResponse;
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
-import jakarta.persistence.OptimisticLockException;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 
 @Service
 public class TransactionService {
+	private static final int DEFAULT_PAGE_SIZE = 50;
+
 	private final TransactionRepository transactionRepository;
 	private final TransactionMapper transactionMapper;
 	private final AccountRepository accountRepository;
 	private final CurrentUserService currentUserService;
+	private final AccountOwnerCache accountOwnerCache;
+	private final TransactionPoster transactionPoster;
+	private final TransactionGroupCommitter groupCommitter;
+	private final IdempotencyKeyService idempotencyKeyService;
+	private final TransactionArchive transactionArchive;
+	private final PostingMode postingMode;
 
 	public TransactionService(
 			TransactionRepository transactionRepository,
 			TransactionMapper transactionMapper,
 			AccountRepository accountRepository,
-			CurrentUserService currentUserService
+			CurrentUserService currentUserService,
+			AccountOwnerCache accountOwnerCache,
+			TransactionPoster transactionPoster,
+			TransactionGroupCommitter groupCommitter,
+			IdempotencyKeyService idempotencyKeyService,
+			TransactionArchive transactionArchive,
+			@Value("${app.transactions.posting-mode:atomic}") PostingMode postingMode
 	) {
 		this.transactionRepository = transactionRepository;
 		this.transactionMapper = transactionMapper;
 		this.accountRepository = accountRepository;
 		this.currentUserService = currentUserService;
+		this.accountOwnerCache = accountOwnerCache;
+		this.transactionPoster = transactionPoster;
+		this.groupCommitter = groupCommitter;
+		this.idempotencyKeyService = idempotencyKeyService;
+		this.transactionArchive = transactionArchive;
+		this.postingMode = postingMode;
 	}
 
-	@Transactional
-	@Retryable(
-			retryFor = {ObjectOptimisticLockingFailureException.class, OptimisticLockException.class},
-			maxAttempts = 3,
-			backoff = @Backoff(delay = 50)
-	)
-	public TransactionResponse create(String accountNumber, CreateTransactionRequest request) {
-		AccountEntity account = loadAccount(accountNumber);
-		validateOwnership(account, "The user is not allowed to delete the bank account details");
-
-		TransactionEntity entity = transactionMapper.toEntity(request);
-		entity.setId(generateTransactionId());
-		entity.setAccount(account);
-		entity.setUser(account.getUser());
+	public TransactionResponse create(String accountNumber, CreateTransactionRequest request, String idempotencyKey) {
+		String userId = currentUserService.getCurrentUserId();
+		TransactionEntity entity = toNewEntity(request);
+		if (idempotencyKey == null || idempotencyKey.isBlank()) {
+			return post(accountNumber, userId, entity, null);
+		}
+		return idempotencyKeyService.execute(userId, accountNumber, idempotencyKey,
+				IdempotencyKeyEntity.requestHashOf(entity), keyId -> post(accountNumber, userId, entity, keyId));
+	}
 
-		applyBalanceChange(account, entity);
-		accountRepository.save(account);
+	public TransactionBatchResponse createBatch(String accountNumber, CreateTransactionBatchRequest request) {
+		String userId = currentUserService.getCurrentUserId();
+		List<TransactionEntity> entities = request.getTransactions()
+				.stream()
+				.map(this::toNewEntity)
+				.toList();
 
-		TransactionEntity saved = transactionRepository.save(entity);
-		return transactionMapper.toResponse(saved);
+		List<TransactionResponse> transactions = transactionPoster.postBatch(accountNumber, userId, entities)
+				.stream()
+				.map(transactionMapper::toResponse)
+				.toList();
+		return new TransactionBatchResponse().transactions(transactions);
 	}
 
 	@Transactional(readOnly = true)
-	public ListTransactionsResponse list(String accountNumber) {
-		AccountEntity account = loadAccount(accountNumber);
-		validateOwnership(account, "The user is not allowed to access the transactions");
+	public ListTransactionsResponse list(String accountNumber, Integer limit, String after) {
+		validateOwnership(accountNumber, "The user is not allowed to access the transactions");
 
-		List<TransactionResponse> transactions = transactionRepository.findAllByAccount_Id(account.getId())
-				.stream()
+		int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+		List<TransactionView> rows = findPage(accountNumber, after, pageSize + 1);
+		if (rows.isEmpty()) {
+			revalidateOwnership(accountNumber, "The user is not allowed to access the transactions");
+		}
+		boolean hasMore = rows.size() > pageSize;
+		List<TransactionView> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+		List<TransactionResponse> transactions = page.stream()
 				.map(transactionMapper::toResponse)
 				.toList();
-		return new ListTransactionsResponse().transactions(transactions);
+		String nextCursor = hasMore ? TransactionCursor.of(page.get(page.size() - 1)).encode() : null;
+		return new ListTransactionsResponse().transactions(transactions).nextCursor(nextCursor);
 	}
 
 	@Transactional(readOnly = true)
-	public TransactionResponse fetchById(String accountNumber, String transactionId) {
+	public BalanceResponse fetchBalance(String accountNumber, OffsetDateTime asOf) {
 		AccountEntity account = loadAccount(accountNumber);
-		validateOwnership(account, "The user is not allowed to access the transaction");
+		validateOwnership(account, "The user is not allowed to access the transactions");
 
-		TransactionEntity entity = transactionRepository.findByIdAndAccount_Id(transactionId, account.getId())
+		OffsetDateTime at = asOf == null ? OffsetDateTime.now() : asOf;
+		BigDecimal balance = asOf == null
+				? account.getBalance()
+				: transactionRepository.findBalanceAsOf(account.getId(), asOf, PageRequest.ofSize(1))
+						.stream()
+						.findFirst()
+						.or(() -> transactionArchive.holdsAny()
+								? transactionArchive.findBalanceAsOf(account.getId(), asOf)
+								: Optional.empty())
+						.orElse(BigDecimal.ZERO);
+		return new BalanceResponse()
+				.accountNumber(account.getId())
+				.balance(balance)
+				.currency(BalanceResponse.CurrencyEnum.fromValue(account.getCurrency()))
+				.asOf(at);
+	}
+
+	@Transactional(readOnly = true)
+	public TransactionResponse fetchById(String accountNumber, String transactionId) {
+		validateOwnership(accountNumber, "The user is not allowed to access the transaction");
+
+		Optional<TransactionView> view = transactionRepository.findViewByIdAndAccountId(transactionId, accountNumber)
+				.or(() -> transactionArchive.holdsAny()
+						? transactionArchive.findView(transactionId, accountNumber)
+						: Optional.empty());
+		if (view.isEmpty()) {
+			revalidateOwnership(accountNumber, "The user is not allowed to access the transaction");
+		}
+		return view.map(transactionMapper::toResponse)
 				.orElseThrow(() -> new NotFoundException("Bank account was not found"));
-		return transactionMapper.toResponse(entity);
+	}
+
+	private TransactionResponse post(
+			String accountNumber,
+			String userId,
+			TransactionEntity entity,
+			String idempotencyKeyId
+	) {
+		TransactionEntity saved = postingMode == PostingMode.GROUP_COMMIT
+				? groupCommitter.submit(accountNumber, userId, entity, idempotencyKeyId)
+				: transactionPoster.post(accountNumber, userId, entity, idempotencyKeyId);
+		return transactionMapper.toResponse(saved);
+	}
+
+	private TransactionEntity toNewEntity(CreateTransactionRequest request) {
+		TransactionEntity entity = transactionMapper.toEntity(request);
+		entity.setId(generateTransactionId());
+		return entity;
+	}
+
+	private List<TransactionView> findPage(String accountId, String after, int size) {
+		TransactionCursor cursor = after == null || after.isBlank() ? null : TransactionCursor.decode(after);
+		List<TransactionView> rows = new ArrayList<>(size);
+		// Archived rows are older than every hot row, so a page that starts before the archive boundary starts
+		// in the archive. Pages past the boundary never touch it.
+		if (transactionArchive.mayHoldRowsAfter(cursor == null ? null : cursor.createdTimestamp())) {
+			rows.addAll(cursor == null
+					? transactionArchive.findFirstPage(accountId, size)
+					: transactionArchive.findPageAfter(accountId, cursor.createdTimestamp(), cursor.id(), size));
+		}
+		if (rows.size() < size) {
+			PageRequest rest = PageRequest.ofSize(size - rows.size());
+			rows.addAll(cursor == null
+					? transactionRepository.findFirstPage(accountId, rest)
+					: transactionRepository.findPageAfter(accountId, cursor.createdTimestamp(), cursor.id(), rest));
+		}
+		return rows;
 	}
 
 	private AccountEntity loadAccount(String accountNumber) {
@@ -88,31 +185,30 @@ public class TransactionService {
 	}
 
 	private void validateOwnership(AccountEntity entity, String message) {
-		String userId = currentUserService.getCurrentUserId();
-		if (!userId.equals(entity.getUser().getId())) {
-			throw new AccessDeniedException(message);
-		}
+		validateOwner(entity.getUser().getId(), message);
 	}
 
-	private void applyBalanceChange(AccountEntity account, TransactionEntity transaction) {
-		BigDecimal amount = safeAmount(transaction.getAmount());
-		BigDecimal balance = safeAmount(account.getBalance());
-		String type = transaction.getType();
-		if ("withdrawal".equalsIgnoreCase(type)) {
-			if (balance.compareTo(amount) < 0) {
-				throw new UnprocessableEntityException("Insufficient funds to process transaction");
-			}
-			account.setBalance(balance.subtract(amount));
-		} else {
-			account.setBalance(balance.add(amount));
-		}
+	private void validateOwnership(String accountNumber, String message) {
+		String ownerId = accountOwnerCache.ownerOf(accountNumber)
+				.orElseThrow(() -> new NotFoundException("Bank account was not found"));
+		validateOwner(ownerId, message);
+	}
+
+	// The cached owner can outlive a close committed on another node. Reads skip closed accounts, so an empty
+	// result drops the entry and checks the account against the database before answering.
+	private void revalidateOwnership(String accountNumber, String message) {
+		accountOwnerCache.invalidate(accountNumber);
+		validateOwnership(accountNumber, message);
 	}
 
-	private static BigDecimal safeAmount(BigDecimal amount) {
-		return amount == null ? BigDecimal.ZERO : amount;
+	private void validateOwner(String ownerId, String message) {
+		String userId = currentUserService.getCurrentUserId();
+		if (!userId.equals(ownerId)) {
+			throw new AccessDeniedException(message);
+		}
 	}
 
 	private static String generateTransactionId() {
-		return "tan-" + UUID.randomUUID().toString().replace("-", "");
+		return TimeOrderedIds.next("tan-");
 	}
 }
@@ -0,0 +1,16 @@
+package com.eaglebank.bankapi.transaction;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+public record TransactionView(
+		String id,
+		BigDecimal amount,
+		String currency,
+		String type,
+		String reference,
+		String userId,
+		BigDecimal balanceAfter,
+		OffsetDateTime createdTimestamp
+) {
+}
@@ -1,5 +1,7 @@
 package com.eaglebank.bankapi.user;
 
+import com.eaglebank.bankapi.web.ETags;
+import com.eaglebank.bankapi.web.Tagged;
 import com.eaglebank.generated.api.UserApi;
 import com.eaglebank.generated.model.CreateUserRequest;
 import com.eaglebank.generated.model.UpdateUserRequest;
@@ -23,8 +25,15 @@ public class UserController implements UserApi {
 	}
 
 	@Override
-	public ResponseEntity<UserResponse> fetchUserByID(String userId) {
-		return ResponseEntity.ok(userService.fetchById(userId));
+	public ResponseEntity<UserResponse> fetchUserByID(String userId, String ifNoneMatch) {
+		if (ifNoneMatch != null) {
+			String etag = userService.fetchETag(userId);
+			if (ETags.matches(ifNoneMatch, etag)) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+			}
+		}
+		Tagged<UserResponse> user = userService.fetchById(userId);
+		return ResponseEntity.ok().eTag(user.etag()).body(user.body());
 	}
 
 	@Override
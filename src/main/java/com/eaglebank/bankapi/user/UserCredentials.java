@@ -0,0 +1,4 @@
+package com.eaglebank.bankapi.user;
+
+public record UserCredentials(String id, String passwordHash) {
+}
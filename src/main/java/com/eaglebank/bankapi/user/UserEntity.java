@@ -12,10 +12,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
 @Table(name = "users")
+@SQLRestriction("deleted_timestamp is null")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -62,6 +64,9 @@ public class UserEntity {
 	@UpdateTimestamp
 	private OffsetDateTime updatedTimestamp;
 
+	@Column(name = "deleted_timestamp")
+	private OffsetDateTime deletedTimestamp;
+
 	@OneToMany(mappedBy = "user")
 	private List<AccountEntity> accounts;
 }
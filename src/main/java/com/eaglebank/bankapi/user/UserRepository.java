@@ -1,13 +1,33 @@
 package com.eaglebank.bankapi.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.OffsetDateTime;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<UserEntity, String> {
+	@Query(
+			value = "select count(*) from accounts where user_id = :userId and closed_timestamp is null",
+			nativeQuery = true
+	)
+	long countOpenAccountsByUserId(@Param("userId") String userId);
+
 	@Query(value = "select count(*) from accounts where user_id = :userId", nativeQuery = true)
 	long countAccountsByUserId(@Param("userId") String userId);
 
+	@Modifying
+	@Query(value = "update users set deleted_timestamp = now() where id = :userId", nativeQuery = true)
+	int markDeleted(@Param("userId") String userId);
+
+	@Query("select u.updatedTimestamp from UserEntity u where u.id = :id")
+	Optional<OffsetDateTime> findUpdatedTimestampById(@Param("id") String id);
+
 	Optional<UserEntity> findByEmail(String email);
+
+	@Query("select new com.eaglebank.bankapi.user.UserCredentials(u.id, u.passwordHash) from UserEntity u where u.email = :email")
+	Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+	boolean existsByEmail(String email);
 }
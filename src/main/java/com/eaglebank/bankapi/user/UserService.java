@@ -2,11 +2,15 @@ package com.eaglebank.bankapi.user;
 
 import com.eaglebank.bankapi.error.ConflictException;
 import com.eaglebank.bankapi.error.NotFoundException;
+import com.eaglebank.bankapi.id.TimeOrderedIds;
+import com.eaglebank.bankapi.outbox.OutboxWriter;
 import com.eaglebank.bankapi.security.CurrentUserService;
+import com.eaglebank.bankapi.web.ETags;
+import com.eaglebank.bankapi.web.Tagged;
 import com.eaglebank.generated.model.CreateUserRequest;
 import com.eaglebank.generated.model.UpdateUserRequest;
 import com.eaglebank.generated.model.UserResponse;
-import java.util.UUID;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,6 +23,7 @@ public class UserService {
 	private final UserMapper userMapper;
 	private final CurrentUserService currentUserService;
 	private final PasswordEncoder passwordEncoder;
+	private final OutboxWriter outboxWriter;
 	private final String defaultPassword;
 
 	public UserService(
@@ -26,29 +31,44 @@ public class UserService {
 			UserMapper userMapper,
 			CurrentUserService currentUserService,
 			PasswordEncoder passwordEncoder,
+			OutboxWriter outboxWriter,
 			@Value("${app.security.user.default-password}") String defaultPassword
 	) {
 		this.userRepository = userRepository;
 		this.userMapper = userMapper;
 		this.currentUserService = currentUserService;
 		this.passwordEncoder = passwordEncoder;
+		this.outboxWriter = outboxWriter;
 		this.defaultPassword = defaultPassword;
 	}
 
 	@Transactional
 	public UserResponse create(CreateUserRequest request) {
 		UserEntity entity = userMapper.toEntity(request);
+		if (userRepository.existsByEmail(entity.getEmail())) {
+			throw new ConflictException("A user with this email address already exists");
+		}
 		entity.setId(generateUserId());
 		entity.setPasswordHash(passwordEncoder.encode(defaultPassword));
 		UserEntity saved = userRepository.save(entity);
-		return userMapper.toResponse(saved);
+		UserResponse response = userMapper.toResponse(saved);
+		outboxWriter.append("user", saved.getId(), "user.created", response);
+		return response;
 	}
 
 	@Transactional(readOnly = true)
-	public UserResponse fetchById(String userId) {
+	public String fetchETag(String userId) {
+		validateOwnership(userId, "The user is not allowed to access the user details");
+		return userRepository.findUpdatedTimestampById(userId)
+				.map(ETags::ofTimestamp)
+				.orElseThrow(() -> new NotFoundException("User was not found"));
+	}
+
+	@Transactional(readOnly = true)
+	public Tagged<UserResponse> fetchById(String userId) {
 		validateOwnership(userId, "The user is not allowed to access the user details");
 		return userRepository.findById(userId)
-				.map(userMapper::toResponse)
+				.map(user -> new Tagged<>(ETags.ofTimestamp(user.getUpdatedTimestamp()), userMapper.toResponse(user)))
 				.orElseThrow(() -> new NotFoundException("User was not found"));
 	}
 
@@ -59,7 +79,9 @@ public class UserService {
 				.orElseThrow(() -> new NotFoundException("User was not found"));
 		userMapper.updateEntity(request, entity);
 		UserEntity saved = userRepository.save(entity);
-		return userMapper.toResponse(saved);
+		UserResponse response = userMapper.toResponse(saved);
+		outboxWriter.append("user", saved.getId(), "user.updated", response);
+		return response;
 	}
 
 	@Transactional
@@ -68,12 +90,18 @@ public class UserService {
 		if (!userRepository.existsById(userId)) {
 			throw new NotFoundException("User was not found");
 		}
-		if (hasAccounts(userId)) {
+		if (hasOpenAccounts(userId)) {
 			throw new ConflictException(
 					"A user cannot be deleted when they are associated with a bank account"
 			);
 		}
-		userRepository.deleteById(userId);
+		if (userRepository.countAccountsByUserId(userId) > 0) {
+			// Closed accounts are still waiting for AccountPurger, which removes the user row with the last one.
+			userRepository.markDeleted(userId);
+		} else {
+			userRepository.deleteById(userId);
+		}
+		outboxWriter.append("user", userId, "user.deleted", Map.of("id", userId));
 	}
 
 	private void validateOwnership(String userId, String message) {
@@ -83,12 +111,12 @@ public class UserService {
 		}
 	}
 
-	private boolean hasAccounts(String userId) {
-		return userRepository.countAccountsByUserId(userId) > 0;
+	private boolean hasOpenAccounts(String userId) {
+		return userRepository.countOpenAccountsByUserId(userId) > 0;
 	}
 
 	private static String generateUserId() {
-		return "usr-" + UUID.randomUUID().toString().replace("-", "");
+		return TimeOrderedIds.next("usr-");
 	}
 
 }
@@ -0,0 +1,55 @@
+package com.eaglebank.bankapi.web;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+
+public final class ETags {
+	private static final String WEAK_PREFIX = "W/";
+
+	private ETags() {
+	}
+
+	public static String ofVersion(long version) {
+		return quote(Long.toString(version));
+	}
+
+	// Postgres keeps microseconds, so anything finer would never match a value read back from the row.
+	public static String ofTimestamp(OffsetDateTime timestamp) {
+		Instant instant = timestamp.toInstant();
+		return quote(Long.toString(instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000));
+	}
+
+	// Strong tag from the first 128 bits of the SHA-256 of the exact bytes sent.
+	public static String ofContent(byte[] content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+			return quote(HexFormat.of().formatHex(digest, 0, 16));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	// If-None-Match uses the weak comparison, so a W/ prefix on the client's copy is ignored.
+	public static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null || etag == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith(WEAK_PREFIX)) {
+				tag = tag.substring(WEAK_PREFIX.length());
+			}
+			if (tag.equals("*") || tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String quote(String value) {
+		return "\"" + value + "\"";
+	}
+}
@@ -0,0 +1,152 @@
+package com.eaglebank.bankapi.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+import org.springdoc.core.properties.SwaggerUiConfigProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+// Serves the spec from bytes loaded once at startup, using the build's precompressed variants when present.
+@RestController
+public class OpenApiDocumentController {
+	private static final String SPEC = "static/openapi.yaml";
+	private static final String PRECOMPRESSED = "openapi/openapi.yaml";
+	private static final MediaType YAML = MediaType.parseMediaType("application/yaml");
+	private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+	private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+	private final Representation identity;
+	private final Representation gzip;
+	private final Representation brotli;
+	private final String version;
+
+	public OpenApiDocumentController(ObjectProvider<SwaggerUiConfigProperties> swaggerUiConfig) {
+		byte[] spec = read(SPEC);
+		byte[] gzipped = read(PRECOMPRESSED + ".gz");
+		byte[] brotlied = read(PRECOMPRESSED + ".br");
+		this.identity = new Representation(spec, null);
+		this.gzip = new Representation(gzipped != null ? gzipped : gzip(spec), "gzip");
+		this.brotli = brotlied != null ? new Representation(brotlied, "br") : null;
+		this.version = identity.etag().substring(1, identity.etag().length() - 1);
+		// Swagger UI loads the content-addressed URL, which browsers may cache for good.
+		swaggerUiConfig.ifAvailable(properties -> properties.setUrl(versionedPath()));
+	}
+
+	@GetMapping("/openapi.yaml")
+	public ResponseEntity<byte[]> openApi(
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+	) {
+		return serve(acceptEncoding, ifNoneMatch, REVALIDATE);
+	}
+
+	@GetMapping("/openapi-{version}.yaml")
+	public ResponseEntity<byte[]> versionedOpenApi(
+			@PathVariable String version,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+	) {
+		if (!this.version.equals(version)) {
+			return ResponseEntity.notFound().build();
+		}
+		return serve(acceptEncoding, ifNoneMatch, IMMUTABLE);
+	}
+
+	String versionedPath() {
+		return "/openapi-" + version + ".yaml";
+	}
+
+	private ResponseEntity<byte[]> serve(String acceptEncoding, String ifNoneMatch, CacheControl cacheControl) {
+		Representation chosen = brotli != null && accepts(acceptEncoding, "br")
+				? brotli
+				: accepts(acceptEncoding, "gzip") ? gzip : identity;
+		if (ETags.matches(ifNoneMatch, chosen.etag())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.eTag(chosen.etag())
+					.cacheControl(cacheControl)
+					.varyBy(HttpHeaders.ACCEPT_ENCODING)
+					.build();
+		}
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+				.eTag(chosen.etag())
+				.cacheControl(cacheControl)
+				.varyBy(HttpHeaders.ACCEPT_ENCODING)
+				.contentType(YAML)
+				.contentLength(chosen.content().length);
+		if (chosen.encoding() != null) {
+			response.header(HttpHeaders.CONTENT_ENCODING, chosen.encoding());
+		}
+		return response.body(chosen.content());
+	}
+
+	// An explicit entry for the coding wins; otherwise "*" covers it.
+	static boolean accepts(String acceptEncoding, String coding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		boolean wildcard = false;
+		for (String candidate : acceptEncoding.split(",")) {
+			String[] parts = candidate.trim().split(";");
+			String name = parts[0].trim();
+			if (name.equalsIgnoreCase(coding)) {
+				return !refused(parts);
+			}
+			if (name.equals("*")) {
+				wildcard = !refused(parts);
+			}
+		}
+		return wildcard;
+	}
+
+	private static boolean refused(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			if (parts[i].trim().matches("q=0(\\.0*)?")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static byte[] read(String path) {
+		ClassPathResource resource = new ClassPathResource(path);
+		if (!resource.exists()) {
+			return null;
+		}
+		try (InputStream in = resource.getInputStream()) {
+			return in.readAllBytes();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	// Fallback for runs that skip the Gradle resources step, such as an IDE launch.
+	private static byte[] gzip(byte[] content) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(content);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return out.toByteArray();
+	}
+
+	private record Representation(byte[] content, String encoding, String etag) {
+		Representation(byte[] content, String encoding) {
+			this(content, encoding, ETags.ofContent(content));
+		}
+	}
+}
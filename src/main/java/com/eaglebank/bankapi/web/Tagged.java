@@ -0,0 +1,4 @@
+package com.eaglebank.bankapi.web;
+
+public record Tagged<T>(String etag, T body) {
+}
@@ -0,0 +1,2 @@
+-- A replayed key must carry the same request; the hash lets a node check that without the original body.
+ALTER TABLE idempotency_keys ADD COLUMN request_hash varchar(44);
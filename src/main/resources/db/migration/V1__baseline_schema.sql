@@ -0,0 +1,67 @@
+CREATE TABLE users (
+    id varchar(64) PRIMARY KEY,
+    name varchar(200) NOT NULL,
+    address_line1 varchar(200) NOT NULL,
+    address_line2 varchar(200),
+    address_line3 varchar(200),
+    address_town varchar(100) NOT NULL,
+    address_county varchar(100) NOT NULL,
+    address_postcode varchar(20) NOT NULL,
+    phone_number varchar(32) NOT NULL,
+    email varchar(320) NOT NULL,
+    password_hash varchar(100),
+    created_timestamp timestamp(6) with time zone NOT NULL,
+    updated_timestamp timestamp(6) with time zone NOT NULL
+);
+
+-- Login looks users up by email on every request.
+CREATE UNIQUE INDEX ux_users_email ON users (email);
+
+CREATE TABLE accounts (
+    id varchar(8) PRIMARY KEY,
+    user_id varchar(64) NOT NULL REFERENCES users (id),
+    sort_code varchar(8) NOT NULL,
+    name varchar(200) NOT NULL,
+    account_type varchar(32) NOT NULL,
+    balance numeric(12, 2) NOT NULL,
+    currency varchar(3) NOT NULL,
+    created_timestamp timestamp(6) with time zone NOT NULL,
+    updated_timestamp timestamp(6) with time zone NOT NULL,
+    version bigint NOT NULL DEFAULT 0
+);
+
+-- Account listing and the user delete guard both filter by owner.
+CREATE INDEX idx_accounts_user_id ON accounts (user_id);
+
+CREATE SEQUENCE account_number_seq
+    AS integer
+    MINVALUE 0
+    MAXVALUE 999999
+    START WITH 0
+    INCREMENT BY 100
+    NO CYCLE;
+
+CREATE TABLE transactions (
+    id varchar(64) PRIMARY KEY,
+    account_id varchar(8) NOT NULL REFERENCES accounts (id),
+    user_id varchar(64) NOT NULL REFERENCES users (id),
+    amount numeric(12, 2) NOT NULL,
+    currency varchar(3) NOT NULL,
+    type varchar(16) NOT NULL,
+    reference varchar(255),
+    balance_after numeric(12, 2) NOT NULL,
+    created_timestamp timestamp(6) with time zone NOT NULL
+);
+
+-- Keyset pagination and point-in-time balance lookups walk this index.
+CREATE INDEX idx_transactions_account_created ON transactions (account_id, created_timestamp, id);
+
+CREATE TABLE idempotency_keys (
+    id varchar(320) PRIMARY KEY,
+    user_id varchar(64) NOT NULL,
+    account_id varchar(8) NOT NULL,
+    transaction_id varchar(64) NOT NULL,
+    created_timestamp timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_created ON idempotency_keys (created_timestamp);
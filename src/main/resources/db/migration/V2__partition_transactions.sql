@@ -0,0 +1,71 @@
+-- Range-partition transactions by month so old months can be detached and archived without
+-- touching the hot partitions. A partitioned table's primary key must include the partition key.
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER TABLE transactions_unpartitioned RENAME CONSTRAINT transactions_pkey TO transactions_unpartitioned_pkey;
+
+CREATE TABLE transactions (
+    id varchar(64) NOT NULL,
+    account_id varchar(8) NOT NULL REFERENCES accounts (id),
+    user_id varchar(64) NOT NULL REFERENCES users (id),
+    amount numeric(12, 2) NOT NULL,
+    currency varchar(3) NOT NULL,
+    type varchar(16) NOT NULL,
+    reference varchar(255),
+    balance_after numeric(12, 2) NOT NULL,
+    created_timestamp timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (id, created_timestamp)
+) PARTITION BY RANGE (created_timestamp);
+
+-- Catches rows outside the monthly partitions; the app creates months ahead so this stays small.
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+DO $$
+DECLARE
+    month date;
+BEGIN
+    FOR month IN
+        SELECT generate_series(
+            (SELECT date_trunc('month', coalesce(min(created_timestamp), now()) AT TIME ZONE 'UTC')
+                FROM transactions_unpartitioned),
+            date_trunc('month', now() AT TIME ZONE 'UTC') + interval '3 months',
+            interval '1 month'
+        )::date
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+            'transactions_' || to_char(month, '"y"YYYY"m"MM'),
+            month || ' 00:00:00+00',
+            (month + interval '1 month')::date || ' 00:00:00+00'
+        );
+    END LOOP;
+END $$;
+
+INSERT INTO transactions (
+    id, account_id, user_id, amount, currency, type, reference, balance_after, created_timestamp
+)
+SELECT id, account_id, user_id, amount, currency, type, reference, balance_after, created_timestamp
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+-- Keyset pagination and point-in-time balance lookups walk this index.
+CREATE INDEX idx_transactions_account_created ON transactions (account_id, created_timestamp, id);
+
+-- Cold months land here once they are older than app.transactions.archive.after-months.
+CREATE TABLE transactions_archive (
+    id varchar(64) PRIMARY KEY,
+    account_id varchar(8) NOT NULL REFERENCES accounts (id) ON DELETE CASCADE,
+    user_id varchar(64) NOT NULL REFERENCES users (id),
+    amount numeric(12, 2) NOT NULL,
+    currency varchar(3) NOT NULL,
+    type varchar(16) NOT NULL,
+    reference varchar(255),
+    balance_after numeric(12, 2) NOT NULL,
+    created_timestamp timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX idx_transactions_archive_account_created
+    ON transactions_archive (account_id, created_timestamp, id);
+
+-- Lets the app find the archive boundary with one index probe.
+CREATE INDEX idx_transactions_archive_created ON transactions_archive (created_timestamp);
@@ -0,0 +1,9 @@
+-- Rows are written in the same transaction as the change they describe and deleted once relayed.
+CREATE TABLE outbox_events (
+    id varchar(64) PRIMARY KEY,
+    aggregate_type varchar(32) NOT NULL,
+    aggregate_id varchar(64) NOT NULL,
+    event_type varchar(64) NOT NULL,
+    payload jsonb NOT NULL,
+    created_timestamp timestamp(6) with time zone NOT NULL
+);
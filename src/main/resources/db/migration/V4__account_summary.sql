@@ -0,0 +1,56 @@
+-- Read model for GET /v1/accounts/summary, updated in the same transaction as every posting.
+CREATE TABLE account_summary (
+    account_id varchar(8) PRIMARY KEY REFERENCES accounts (id) ON DELETE CASCADE,
+    user_id varchar(64) NOT NULL,
+    balance numeric(12, 2) NOT NULL,
+    currency varchar(3) NOT NULL,
+    transaction_count bigint NOT NULL,
+    last_transaction_timestamp timestamp(6) with time zone,
+    month_start date NOT NULL,
+    month_to_date_in numeric(14, 2) NOT NULL,
+    month_to_date_out numeric(14, 2) NOT NULL,
+    updated_timestamp timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX idx_account_summary_user_id ON account_summary (user_id);
+
+WITH month AS (
+    SELECT date_trunc('month', now() AT TIME ZONE 'UTC') AS start
+),
+hot AS (
+    SELECT account_id,
+           count(*) AS transaction_count,
+           max(created_timestamp) AS last_transaction_timestamp,
+           sum(amount) FILTER (
+               WHERE lower(type) <> 'withdrawal'
+                   AND created_timestamp >= (SELECT start FROM month) AT TIME ZONE 'UTC'
+           ) AS month_to_date_in,
+           sum(amount) FILTER (
+               WHERE lower(type) = 'withdrawal'
+                   AND created_timestamp >= (SELECT start FROM month) AT TIME ZONE 'UTC'
+           ) AS month_to_date_out
+    FROM transactions
+    GROUP BY account_id
+),
+archived AS (
+    SELECT account_id, count(*) AS transaction_count, max(created_timestamp) AS last_transaction_timestamp
+    FROM transactions_archive
+    GROUP BY account_id
+)
+INSERT INTO account_summary (
+    account_id, user_id, balance, currency, transaction_count, last_transaction_timestamp,
+    month_start, month_to_date_in, month_to_date_out, updated_timestamp
+)
+SELECT a.id,
+       a.user_id,
+       a.balance,
+       a.currency,
+       coalesce(hot.transaction_count, 0) + coalesce(archived.transaction_count, 0),
+       coalesce(hot.last_transaction_timestamp, archived.last_transaction_timestamp),
+       (SELECT start FROM month)::date,
+       coalesce(hot.month_to_date_in, 0),
+       coalesce(hot.month_to_date_out, 0),
+       now()
+FROM accounts a
+LEFT JOIN hot ON hot.account_id = a.id
+LEFT JOIN archived ON archived.account_id = a.id;
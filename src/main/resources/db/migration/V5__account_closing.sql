@@ -0,0 +1,5 @@
+-- Deleting an account only stamps closed_timestamp; its rows are purged later in bounded chunks.
+ALTER TABLE accounts ADD COLUMN closed_timestamp timestamp(6) with time zone;
+
+-- The purge sweep looks for accounts still waiting to be removed.
+CREATE INDEX idx_accounts_closed ON accounts (closed_timestamp) WHERE closed_timestamp IS NOT NULL;
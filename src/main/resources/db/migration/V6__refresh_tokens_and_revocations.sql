@@ -0,0 +1,15 @@
+-- Only the SHA-256 of a refresh token is stored; each one is deleted when it is used.
+CREATE TABLE refresh_tokens (
+    id varchar(64) PRIMARY KEY,
+    user_id varchar(64) NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created_timestamp timestamp(6) with time zone NOT NULL,
+    expires_timestamp timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+-- Revoked access token ids, kept only until the token would have expired anyway.
+CREATE TABLE revoked_tokens (
+    jti varchar(64) PRIMARY KEY,
+    expires_timestamp timestamp(6) with time zone NOT NULL
+);
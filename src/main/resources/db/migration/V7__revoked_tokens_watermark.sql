@@ -0,0 +1,4 @@
+-- Nodes reload only revocations newer than the last ones they saw, so each row records when it was written.
+ALTER TABLE revoked_tokens ADD COLUMN revoked_timestamp timestamp(6) with time zone NOT NULL DEFAULT now();
+
+CREATE INDEX idx_revoked_tokens_revoked ON revoked_tokens (revoked_timestamp);
@@ -0,0 +1,11 @@
+-- Rows older than archived_before may live in transactions_archive; newer ones are always in the hot table.
+-- Maintenance raises the boundary first and only moves rows once every node has had time to read it.
+CREATE TABLE transactions_archive_boundary (
+    id smallint PRIMARY KEY CHECK (id = 1),
+    archived_before timestamp(6) with time zone,
+    published_timestamp timestamp(6) with time zone NOT NULL
+);
+
+INSERT INTO transactions_archive_boundary (id, archived_before, published_timestamp)
+SELECT 1, max(created_timestamp) + interval '1 microsecond', now()
+FROM transactions_archive;
@@ -0,0 +1,10 @@
+-- A user whose closed accounts are still being purged is only stamped deleted; AccountPurger removes the row
+-- together with the last account.
+ALTER TABLE users ADD COLUMN deleted_timestamp timestamp(6) with time zone;
+
+-- The email address is free for a new signup as soon as its user is deleted.
+DROP INDEX ux_users_email;
+CREATE UNIQUE INDEX ux_users_email ON users (email) WHERE deleted_timestamp IS NULL;
+
+-- The purge sweep looks for deleted users left without accounts.
+CREATE INDEX idx_users_deleted ON users (deleted_timestamp) WHERE deleted_timestamp IS NOT NULL;
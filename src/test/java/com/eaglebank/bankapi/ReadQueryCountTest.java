@@ -0,0 +1,234 @@
+package com.eaglebank.bankapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.bankapi.account.AccountEntity;
+import com.eaglebank.bankapi.account.AccountNumberAllocator;
+import com.eaglebank.bankapi.account.AccountRepository;
+import com.eaglebank.bankapi.id.TimeOrderedIds;
+import com.eaglebank.bankapi.security.JwtService;
+import com.eaglebank.bankapi.transaction.TransactionArchive;
+import com.eaglebank.bankapi.transaction.TransactionEntity;
+import com.eaglebank.bankapi.transaction.TransactionRepository;
+import com.eaglebank.bankapi.user.UserEntity;
+import com.eaglebank.bankapi.user.UserRepository;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Statements are counted at the JDBC connection, so JdbcTemplate queries (the archive) count as well as
+// Hibernate's. Only the test thread is counted; scheduled jobs share the pool and would add noise.
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReadQueryCountTest {
+	private static final AtomicLong STATEMENTS = new AtomicLong();
+	private static volatile Thread countedThread;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private AccountNumberAllocator accountNumberAllocator;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionArchive transactionArchive;
+
+	private UserEntity user;
+	private AccountEntity account;
+	private List<TransactionEntity> transactions;
+	private String token;
+
+	@BeforeEach
+	void seed() {
+		transactionTemplate.executeWithoutResult(status -> {
+			user = new UserEntity();
+			user.setId(TimeOrderedIds.next("usr-"));
+			user.setName("Query Count");
+			user.setAddressLine1("1 Test Street");
+			user.setAddressTown("London");
+			user.setAddressCounty("London");
+			user.setAddressPostcode("E1 1AA");
+			user.setPhoneNumber("+447700900000");
+			user.setEmail(user.getId() + "@example.com");
+			userRepository.save(user);
+
+			account = new AccountEntity();
+			account.setId(accountNumberAllocator.next());
+			account.setUser(user);
+			account.setName("Query Count");
+			account.setAccountType("personal");
+			account.setSortCode("10-10-10");
+			account.setBalance(new BigDecimal("30.00"));
+			account.setCurrency("GBP");
+			accountRepository.save(account);
+
+			transactions = new ArrayList<>();
+			for (int i = 1; i <= 3; i++) {
+				TransactionEntity transaction = new TransactionEntity();
+				transaction.setId(TimeOrderedIds.next("tan-"));
+				transaction.setAccount(account);
+				transaction.setUser(user);
+				transaction.setAmount(new BigDecimal("10.00"));
+				transaction.setCurrency("GBP");
+				transaction.setType("deposit");
+				transaction.setBalanceAfter(new BigDecimal("10.00").multiply(BigDecimal.valueOf(i)));
+				transactions.add(transaction);
+			}
+			transactionRepository.saveAll(transactions);
+		});
+
+		token = jwtService.generateToken(user.getEmail(), user.getId());
+		// Maintenance only ever raises the boundary, so once set every first page starts with an archive probe.
+		jdbcTemplate.update("""
+				update transactions_archive_boundary
+				set archived_before = coalesce(archived_before, '2000-01-01T00:00:00Z'::timestamptz)
+				where id = 1
+				""");
+		transactionArchive.refresh();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		transactionTemplate.executeWithoutResult(status -> {
+			transactionRepository.deleteAllById(transactions.stream().map(TransactionEntity::getId).toList());
+			accountRepository.deleteById(account.getId());
+			userRepository.deleteById(user.getId());
+		});
+	}
+
+	@Test
+	void listTransactionsUsesOwnerLookupArchiveProbeAndOnePageQuery() throws Exception {
+		assertStatements(3, "/v1/accounts/" + account.getId() + "/transactions");
+	}
+
+	@Test
+	void fetchTransactionUsesOwnerLookupAndOneProjection() throws Exception {
+		assertStatements(2, "/v1/accounts/" + account.getId() + "/transactions/" + transactions.get(0).getId());
+	}
+
+	@Test
+	void listAccountsUsesOneProjection() throws Exception {
+		assertStatements(1, "/v1/accounts");
+	}
+
+	@Test
+	void fetchAccountUsesOneProjection() throws Exception {
+		assertStatements(1, "/v1/accounts/" + account.getId());
+	}
+
+	@Test
+	void conditionalFetchOfUnchangedAccountReadsOnlyTheVersion() throws Exception {
+		long statements = countStatements(() -> mockMvc.perform(get("/v1/accounts/" + account.getId())
+						.header("Authorization", "Bearer " + token)
+						.header("If-None-Match", "\"" + account.getVersion() + "\""))
+				.andExpect(status().isNotModified()));
+
+		assertThat(statements).isEqualTo(1);
+	}
+
+	private void assertStatements(long expected, String path) throws Exception {
+		long statements = countStatements(() -> mockMvc.perform(get(path).header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk()));
+
+		assertThat(statements).isEqualTo(expected);
+	}
+
+	private static long countStatements(Request request) throws Exception {
+		STATEMENTS.set(0);
+		countedThread = Thread.currentThread();
+		try {
+			request.perform();
+		} finally {
+			countedThread = null;
+		}
+		return STATEMENTS.get();
+	}
+
+	private interface Request {
+		void perform() throws Exception;
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class StatementCounting {
+
+		@Bean
+		static BeanPostProcessor countingDataSource() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					return bean instanceof DataSource dataSource && beanName.equals("dataSource") ? counting(dataSource) : bean;
+				}
+			};
+		}
+
+		private static DataSource counting(DataSource target) {
+			return proxy(DataSource.class, (proxy, method, args) -> {
+				Object result = invoke(target, method, args);
+				return result instanceof Connection connection ? counting(connection) : result;
+			});
+		}
+
+		private static Connection counting(Connection target) {
+			return proxy(Connection.class, (proxy, method, args) -> {
+				String name = method.getName();
+				boolean statement = name.startsWith("prepare") || name.equals("createStatement");
+				if (statement && Thread.currentThread() == countedThread) {
+					STATEMENTS.incrementAndGet();
+				}
+				return invoke(target, method, args);
+			});
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+			return (T) Proxy.newProxyInstance(ReadQueryCountTest.class.getClassLoader(), new Class<?>[] {type}, handler);
+		}
+
+		private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException ex) {
+				throw ex.getCause();
+			}
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.eaglebank.bankapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.bankapi.account.AccountEntity;
+import com.eaglebank.bankapi.account.AccountNumberAllocator;
+import com.eaglebank.bankapi.account.AccountRepository;
+import com.eaglebank.bankapi.id.TimeOrderedIds;
+import com.eaglebank.bankapi.security.JwtService;
+import com.eaglebank.bankapi.user.UserEntity;
+import com.eaglebank.bankapi.user.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Postings go through the real persist path, so nothing here sets created_timestamp by hand. The relay is
+// held off so the outbox rows are still there to compare.
+@SpringBootTest(properties = "app.outbox.relay.interval=PT1H")
+@AutoConfigureMockMvc
+class TransactionPostingTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private AccountNumberAllocator accountNumberAllocator;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private UserEntity user;
+	private AccountEntity account;
+	private String token;
+
+	@BeforeEach
+	void seed() {
+		transactionTemplate.executeWithoutResult(status -> {
+			user = new UserEntity();
+			user.setId(TimeOrderedIds.next("usr-"));
+			user.setName("Posting");
+			user.setAddressLine1("1 Test Street");
+			user.setAddressTown("London");
+			user.setAddressCounty("London");
+			user.setAddressPostcode("E1 1AA");
+			user.setPhoneNumber("+447700900000");
+			user.setEmail(user.getId() + "@example.com");
+			userRepository.save(user);
+
+			account = new AccountEntity();
+			account.setId(accountNumberAllocator.next());
+			account.setUser(user);
+			account.setName("Posting");
+			account.setAccountType("personal");
+			account.setSortCode("10-10-10");
+			account.setBalance(BigDecimal.ZERO);
+			account.setCurrency("GBP");
+			accountRepository.save(account);
+		});
+		jdbcTemplate.update("""
+				insert into account_summary (account_id, user_id, balance, currency, transaction_count, month_start,
+					month_to_date_in, month_to_date_out, updated_timestamp)
+				values (?, ?, 0, 'GBP', 0, date_trunc('month', now() at time zone 'UTC'), 0, 0, now())
+				""", account.getId(), user.getId());
+
+		token = jwtService.generateToken(user.getEmail(), user.getId());
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from outbox_events where aggregate_id = ?", account.getId());
+		jdbcTemplate.update("delete from transactions where account_id = ?", account.getId());
+		jdbcTemplate.update("delete from account_summary where account_id = ?", account.getId());
+		jdbcTemplate.update("delete from accounts where id = ?", account.getId());
+		jdbcTemplate.update("delete from users where id = ?", user.getId());
+	}
+
+	@Test
+	void singlePostingSharesOneTimestampAcrossRowSummaryAndOutbox() throws Exception {
+		JsonNode response = postJson("/transactions", "{\"amount\":5.00,\"currency\":\"GBP\",\"type\":\"deposit\"}");
+
+		assertStampedConsistently(List.of(response));
+	}
+
+	@Test
+	void batchPostingSharesOneTimestampAcrossRowsSummaryAndOutbox() throws Exception {
+		JsonNode response = postJson("/transactions/batch", """
+				{"transactions":[
+					{"amount":5.00,"currency":"GBP","type":"deposit"},
+					{"amount":2.00,"currency":"GBP","type":"withdrawal"}
+				]}
+				""");
+
+		List<JsonNode> transactions = List.of(response.get("transactions").get(0), response.get("transactions").get(1));
+		assertStampedConsistently(transactions);
+	}
+
+	private JsonNode postJson(String path, String body) throws Exception {
+		String content = mockMvc.perform(post("/v1/accounts/" + account.getId() + path)
+						.header("Authorization", "Bearer " + token)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body))
+				.andExpect(status().isCreated())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+		return objectMapper.readTree(content);
+	}
+
+	private void assertStampedConsistently(List<JsonNode> transactions) throws Exception {
+		for (JsonNode transaction : transactions) {
+			String id = transaction.get("id").asText();
+			OffsetDateTime stored = jdbcTemplate.queryForObject(
+					"select created_timestamp from transactions where id = ?", OffsetDateTime.class, id);
+			String payload = jdbcTemplate.queryForObject(
+					"select payload::text from outbox_events where event_type = 'transaction.created' and payload ->> 'id' = ?",
+					String.class,
+					id
+			);
+
+			assertThat(stored).isNotNull();
+			assertThat(OffsetDateTime.parse(transaction.get("createdTimestamp").asText())).isAtSameInstantAs(stored);
+			assertThat(OffsetDateTime.parse(objectMapper.readTree(payload).get("createdTimestamp").asText()))
+					.isAtSameInstantAs(stored);
+		}
+
+		OffsetDateTime latest = OffsetDateTime.parse(transactions.get(transactions.size() - 1).get("createdTimestamp").asText());
+		OffsetDateTime summarised = jdbcTemplate.queryForObject(
+				"select last_transaction_timestamp from account_summary where account_id = ?",
+				OffsetDateTime.class,
+				account.getId()
+		);
+		assertThat(summarised).isAtSameInstantAs(latest);
+	}
+}
@@ -0,0 +1,203 @@
+package com.eaglebank.bankapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.eaglebank.bankapi.account.AccountEntity;
+import com.eaglebank.bankapi.account.AccountNumberAllocator;
+import com.eaglebank.bankapi.account.AccountRepository;
+import com.eaglebank.bankapi.id.TimeOrderedIds;
+import com.eaglebank.bankapi.security.JwtService;
+import com.eaglebank.bankapi.user.UserEntity;
+import com.eaglebank.bankapi.user.UserRepository;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Contended postings park on row locks and socket reads, which is where a monitor held by a filter, the pool
+// or the driver would pin the carrier. Requests go through the real Tomcat connector and an account close
+// hands its purge to @Async, so every path spring.threads.virtual.enabled switches runs while JFR records.
+// Any jdk.VirtualThreadPinned event in that window fails the build.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.threads.virtual.enabled=true",
+		"app.throttle.initial-limit=400",
+		"app.ratelimit.read.burst=10000",
+		"app.ratelimit.write.burst=10000"
+})
+class VirtualThreadPinningTest {
+	private static final int CONCURRENCY = 64;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private AccountNumberAllocator accountNumberAllocator;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private UserEntity user;
+	private AccountEntity account;
+	private AccountEntity closing;
+	private String token;
+
+	@BeforeEach
+	void seed() {
+		transactionTemplate.executeWithoutResult(status -> {
+			user = new UserEntity();
+			user.setId(TimeOrderedIds.next("usr-"));
+			user.setName("Pinning");
+			user.setAddressLine1("1 Test Street");
+			user.setAddressTown("London");
+			user.setAddressCounty("London");
+			user.setAddressPostcode("E1 1AA");
+			user.setPhoneNumber("+447700900000");
+			user.setEmail(user.getId() + "@example.com");
+			userRepository.save(user);
+
+			account = accountRepository.save(newAccount());
+			closing = accountRepository.save(newAccount());
+		});
+
+		token = jwtService.generateToken(user.getEmail(), user.getId());
+	}
+
+	@AfterEach
+	void cleanUp() {
+		for (AccountEntity seeded : List.of(account, closing)) {
+			jdbcTemplate.update("delete from transactions where account_id = ?", seeded.getId());
+			jdbcTemplate.update("delete from account_summary where account_id = ?", seeded.getId());
+			jdbcTemplate.update("delete from accounts where id = ?", seeded.getId());
+		}
+		jdbcTemplate.update("delete from users where id = ?", user.getId());
+	}
+
+	@Test
+	void contendedRequestsOnVirtualThreadsNeverPinTheCarrier() throws Exception {
+		// Warm up first so one-off class initialisation can't masquerade as pinning; this also gives the
+		// account that gets closed some history for the purge to delete.
+		runConcurrently(4);
+		assertThat(send(deposit(closing.getId())).get()).isEqualTo(201);
+
+		ConcurrentLinkedQueue<RecordedEvent> pinned = new ConcurrentLinkedQueue<>();
+		AtomicLong virtualThreadsStarted = new AtomicLong();
+		try (RecordingStream recording = new RecordingStream()) {
+			recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+			recording.enable("jdk.VirtualThreadStart");
+			recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+			recording.onEvent("jdk.VirtualThreadStart", event -> virtualThreadsStarted.incrementAndGet());
+			recording.startAsync();
+
+			CompletableFuture<Integer> close = send(request("/v1/accounts/" + closing.getId()).DELETE());
+			List<Integer> statuses = runConcurrently(CONCURRENCY);
+			assertThat(close.get()).isEqualTo(204);
+			awaitPurge(closing.getId());
+
+			recording.stop();
+			assertThat(statuses).containsOnly(200, 201);
+		}
+
+		// Without the flag nothing server-side starts a virtual thread (the HTTP client uses platform threads).
+		assertThat(virtualThreadsStarted).hasPositiveValue();
+		assertThat(pinned)
+				.withFailMessage(() -> "Virtual threads pinned their carrier:\n" + describe(pinned))
+				.isEmpty();
+	}
+
+	private List<Integer> runConcurrently(int requests) throws Exception {
+		List<CompletableFuture<Integer>> results = new ArrayList<>();
+		for (int i = 0; i < requests; i++) {
+			results.add(send(i % 2 == 0 ? deposit(account.getId()) : listTransactions()));
+		}
+		List<Integer> statuses = new ArrayList<>();
+		for (CompletableFuture<Integer> result : results) {
+			statuses.add(result.get());
+		}
+		return statuses;
+	}
+
+	private void awaitPurge(String accountNumber) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (jdbcTemplate.queryForObject("select count(*) from accounts where id = ?", Long.class, accountNumber) > 0) {
+			assertThat(System.nanoTime()).withFailMessage("AccountPurger did not run").isLessThan(deadline);
+			Thread.sleep(50);
+		}
+	}
+
+	private CompletableFuture<Integer> send(HttpRequest.Builder request) {
+		return client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+	}
+
+	private HttpRequest.Builder deposit(String accountNumber) {
+		return request("/v1/accounts/" + accountNumber + "/transactions")
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString("{\"amount\":1.00,\"currency\":\"GBP\",\"type\":\"deposit\"}"));
+	}
+
+	private HttpRequest.Builder listTransactions() {
+		return request("/v1/accounts/" + account.getId() + "/transactions").GET();
+	}
+
+	private HttpRequest.Builder request(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Authorization", "Bearer " + token);
+	}
+
+	private AccountEntity newAccount() {
+		AccountEntity seeded = new AccountEntity();
+		seeded.setId(accountNumberAllocator.next());
+		seeded.setUser(user);
+		seeded.setName("Pinning");
+		seeded.setAccountType("personal");
+		seeded.setSortCode("10-10-10");
+		seeded.setBalance(BigDecimal.ZERO);
+		seeded.setCurrency("GBP");
+		return seeded;
+	}
+
+	private static String describe(ConcurrentLinkedQueue<RecordedEvent> events) {
+		return events.stream()
+				.map(event -> event.getDuration() + " pinned at\n" + event.getStackTrace().getFrames().stream()
+						.limit(20)
+						.map(VirtualThreadPinningTest::frame)
+						.collect(Collectors.joining("\n")))
+				.collect(Collectors.joining("\n\n"));
+	}
+
+	private static String frame(RecordedFrame frame) {
+		return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+				+ ":" + frame.getLineNumber();
+	}
+}
@@ -1,18 +1,27 @@
 package com.eaglebank.bankapi.account;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.eaglebank.bankapi.security.JwtService;
+import com.eaglebank.bankapi.security.TokenRevocations;
+import com.eaglebank.bankapi.throttle.AdaptiveConcurrencyLimiter;
+import com.eaglebank.bankapi.throttle.RateLimitFilter;
+import com.eaglebank.bankapi.web.Tagged;
+import com.eaglebank.generated.model.AccountSummaryResponse;
 import com.eaglebank.generated.model.BankAccountResponse;
 import com.eaglebank.generated.model.CreateBankAccountRequest;
+import com.eaglebank.generated.model.ListAccountSummariesResponse;
 import com.eaglebank.generated.model.ListBankAccountsResponse;
 import com.eaglebank.generated.model.UpdateBankAccountRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -43,6 +52,15 @@ class AccountControllerTest {
 	@MockitoBean
 	private JwtService jwtService;
 
+	@MockitoBean
+	private TokenRevocations tokenRevocations;
+
+	@MockitoBean
+	private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+	@MockitoBean
+	private RateLimitFilter rateLimitFilter;
+
 	@Test
 	void createAccountReturnsCreated() throws Exception {
 		when(accountService.create(any(CreateBankAccountRequest.class))).thenReturn(sampleResponse());
@@ -66,15 +84,45 @@ class AccountControllerTest {
 				.andExpect(jsonPath("$.accounts[0].accountNumber").value("01234567"));
 	}
 
+	@Test
+	void listAccountSummariesReturnsOk() throws Exception {
+		ListAccountSummariesResponse response = new ListAccountSummariesResponse().summaries(List.of(
+				new AccountSummaryResponse()
+						.accountNumber("01234567")
+						.balance(new BigDecimal("15.00"))
+						.currency(AccountSummaryResponse.CurrencyEnum.GBP)
+						.transactionCount(3L)
+		));
+		when(accountService.listSummaries()).thenReturn(response);
+
+		mockMvc.perform(get("/v1/accounts/summary"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.summaries[0].accountNumber").value("01234567"))
+				.andExpect(jsonPath("$.summaries[0].transactionCount").value(3));
+	}
+
 	@Test
 	void fetchAccountReturnsOk() throws Exception {
-		when(accountService.fetchByAccountNumber("01234567")).thenReturn(sampleResponse());
+		when(accountService.fetchByAccountNumber("01234567")).thenReturn(new Tagged<>("\"3\"", sampleResponse()));
 
 		mockMvc.perform(get("/v1/accounts/01234567"))
 				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"3\""))
 				.andExpect(jsonPath("$.accountNumber").value("01234567"));
 	}
 
+	@Test
+	void fetchAccountReturnsNotModifiedWhenETagMatches() throws Exception {
+		when(accountService.fetchETag("01234567")).thenReturn("\"3\"");
+
+		mockMvc.perform(get("/v1/accounts/01234567").header("If-None-Match", "\"3\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", "\"3\""))
+				.andExpect(content().string(""));
+
+		verify(accountService, never()).fetchByAccountNumber(any(String.class));
+	}
+
 	@Test
 	void updateAccountReturnsOk() throws Exception {
 		when(accountService.updateByAccountNumber(any(String.class), any(UpdateBankAccountRequest.class)))
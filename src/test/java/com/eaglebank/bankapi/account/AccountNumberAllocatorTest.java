@@ -0,0 +1,51 @@
+package com.eaglebank.bankapi.account;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AccountNumberAllocatorTest {
+
+	@Test
+	void handsOutNumbersFromReservedBlock() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.queryForObject(eq("select increment_by from pg_sequences where sequencename = ?"),
+				eq(Long.class), anyString())).thenReturn(3L);
+		when(jdbcTemplate.queryForObject("select nextval('account_number_seq')", Long.class))
+				.thenReturn(300L, 600L);
+		AccountNumberAllocator allocator = new AccountNumberAllocator(jdbcTemplate);
+
+		List<String> numbers = IntStream.range(0, 4).mapToObj(i -> allocator.next()).toList();
+
+		assertThat(numbers).containsExactly("01000300", "01000301", "01000302", "01000600");
+		verify(jdbcTemplate, times(2)).queryForObject("select nextval('account_number_seq')", Long.class);
+	}
+
+	@Test
+	void concurrentCallersNeverShareANumber() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		AtomicLong sequence = new AtomicLong();
+		when(jdbcTemplate.queryForObject(eq("select increment_by from pg_sequences where sequencename = ?"),
+				eq(Long.class), anyString())).thenReturn(100L);
+		when(jdbcTemplate.queryForObject("select nextval('account_number_seq')", Long.class))
+				.thenAnswer(invocation -> sequence.getAndAdd(100));
+		AccountNumberAllocator allocator = new AccountNumberAllocator(jdbcTemplate);
+
+		Set<String> numbers = ConcurrentHashMap.newKeySet();
+		IntStream.range(0, 5_000).parallel().forEach(i -> numbers.add(allocator.next()));
+
+		assertThat(numbers).hasSize(5_000).allMatch(number -> number.matches("^01\\d{6}$"));
+	}
+}
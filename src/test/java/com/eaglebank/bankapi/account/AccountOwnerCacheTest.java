@@ -0,0 +1,82 @@
+package com.eaglebank.bankapi.account;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class AccountOwnerCacheTest {
+
+	@Test
+	void servesRepeatedLookupsFromMemoryAndCountsHits() {
+		AccountRepository repository = mock(AccountRepository.class);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AccountOwnerCache cache = new AccountOwnerCache(repository, registry, 64);
+
+		when(repository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"));
+
+		assertThat(cache.ownerOf("01234567")).contains("usr-1");
+		assertThat(cache.ownerOf("01234567")).contains("usr-1");
+
+		verify(repository, times(1)).findOwnerIdById("01234567");
+		assertThat(registry.get("account.owner.cache.requests").tag("result", "hit").functionCounter().count())
+				.isEqualTo(1);
+		assertThat(registry.get("account.owner.cache.requests").tag("result", "miss").functionCounter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void reloadsOwnerAfterInvalidation() {
+		AccountRepository repository = mock(AccountRepository.class);
+		AccountOwnerCache cache = new AccountOwnerCache(repository, new SimpleMeterRegistry(), 64);
+
+		when(repository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"), Optional.empty());
+
+		assertThat(cache.ownerOf("01234567")).contains("usr-1");
+		cache.invalidate("01234567");
+
+		assertThat(cache.ownerOf("01234567")).isEmpty();
+		verify(repository, times(2)).findOwnerIdById("01234567");
+	}
+
+	@Test
+	void evictsOwnerWhenAccountCloseCommits() {
+		AccountRepository repository = mock(AccountRepository.class);
+		AccountOwnerCache cache = new AccountOwnerCache(repository, new SimpleMeterRegistry(), 64);
+
+		when(repository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"), Optional.empty());
+
+		assertThat(cache.ownerOf("01234567")).contains("usr-1");
+		cache.onAccountClosed(new AccountClosedEvent("01234567"));
+
+		assertThat(cache.ownerOf("01234567")).isEmpty();
+	}
+
+	@Test
+	void staysBoundedWhenMoreAccountsThanCapacity() {
+		AccountRepository repository = mock(AccountRepository.class);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AccountOwnerCache cache = new AccountOwnerCache(repository, registry, 16);
+
+		when(repository.findOwnerIdById(anyString())).thenReturn(Optional.of("usr-1"));
+		for (int i = 0; i < 1_000; i++) {
+			cache.ownerOf(String.format("01%06d", i));
+		}
+
+		assertThat(registry.get("account.owner.cache.size").gauge().value()).isLessThanOrEqualTo(16);
+	}
+
+	@Test
+	void keysAccountNumbersAsInts() {
+		assertThat(AccountOwnerCache.key("01234567")).isEqualTo(1_234_567);
+		assertThat(AccountOwnerCache.key("01000000")).isEqualTo(1_000_000);
+		assertThat(AccountOwnerCache.key("02234567")).isZero();
+		assertThat(AccountOwnerCache.key("0123456x")).isZero();
+	}
+}
@@ -0,0 +1,33 @@
+package com.eaglebank.bankapi.account;
+
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AccountPurgerTest {
+
+	@Test
+	void deletesTransactionsInChunksBeforeTheAccountRow() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		AccountPurger purger = new AccountPurger(jdbcTemplate, 2);
+
+		when(jdbcTemplate.update(contains("delete from transactions where"), eq("01234567"), eq(2)))
+				.thenReturn(2, 2, 1);
+		when(jdbcTemplate.update(contains("delete from transactions_archive"), eq("01234567"), eq(2)))
+				.thenReturn(0);
+
+		purger.purge("01234567");
+
+		InOrder order = inOrder(jdbcTemplate);
+		order.verify(jdbcTemplate, times(3)).update(contains("delete from transactions where"), eq("01234567"), eq(2));
+		order.verify(jdbcTemplate).update(contains("delete from transactions_archive"), eq("01234567"), eq(2));
+		order.verify(jdbcTemplate).update(contains("delete from accounts"), eq("01234567"), eq("01234567"));
+	}
+}
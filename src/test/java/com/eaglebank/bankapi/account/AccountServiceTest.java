@@ -3,21 +3,29 @@ package com.eaglebank.bankapi.account;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.eaglebank.bankapi.error.NotFoundException;
+import com.eaglebank.bankapi.outbox.OutboxWriter;
 import com.eaglebank.bankapi.security.CurrentUserService;
 import com.eaglebank.bankapi.user.UserEntity;
 import com.eaglebank.bankapi.user.UserRepository;
+import com.eaglebank.generated.model.AccountSummaryResponse;
 import com.eaglebank.generated.model.BankAccountResponse;
 import com.eaglebank.generated.model.CreateBankAccountRequest;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 
 class AccountServiceTest {
@@ -28,7 +36,18 @@ class AccountServiceTest {
 		AccountMapper mapper = mock(AccountMapper.class);
 		CurrentUserService currentUserService = mock(CurrentUserService.class);
 		UserRepository userRepository = mock(UserRepository.class);
-		AccountService service = new AccountService(repository, mapper, currentUserService, userRepository);
+		AccountNumberAllocator allocator = mock(AccountNumberAllocator.class);
+		OutboxWriter outboxWriter = mock(OutboxWriter.class);
+		AccountService service = new AccountService(
+				repository,
+				mapper,
+				currentUserService,
+				userRepository,
+				allocator,
+				outboxWriter,
+				mock(AccountSummaryRepository.class),
+				mock(ApplicationEventPublisher.class)
+		);
 
 		UserEntity user = new UserEntity();
 		user.setId("usr-1");
@@ -37,6 +56,7 @@ class AccountServiceTest {
 
 		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
 		when(userRepository.findById("usr-1")).thenReturn(Optional.of(user));
+		when(allocator.next()).thenReturn("01000042");
 		when(mapper.toEntity(any(CreateBankAccountRequest.class))).thenReturn(entity);
 		when(repository.save(any(AccountEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 		when(mapper.toResponse(any(AccountEntity.class))).thenReturn(response);
@@ -55,6 +75,7 @@ class AccountServiceTest {
 		assertThat(saved.getCurrency()).isEqualTo("GBP");
 		assertThat(saved.getSortCode()).isEqualTo("10-10-10");
 		assertThat(result.getAccountNumber()).isEqualTo("01234567");
+		verify(outboxWriter).append("account", saved.getId(), "account.created", response);
 	}
 
 	@Test
@@ -63,7 +84,17 @@ class AccountServiceTest {
 		AccountMapper mapper = mock(AccountMapper.class);
 		CurrentUserService currentUserService = mock(CurrentUserService.class);
 		UserRepository userRepository = mock(UserRepository.class);
-		AccountService service = new AccountService(repository, mapper, currentUserService, userRepository);
+		AccountNumberAllocator allocator = mock(AccountNumberAllocator.class);
+		AccountService service = new AccountService(
+				repository,
+				mapper,
+				currentUserService,
+				userRepository,
+				allocator,
+				mock(OutboxWriter.class),
+				mock(AccountSummaryRepository.class),
+				mock(ApplicationEventPublisher.class)
+		);
 
 		when(currentUserService.getCurrentUserId()).thenReturn("usr-missing");
 		when(userRepository.findById("usr-missing")).thenReturn(Optional.empty());
@@ -79,33 +110,126 @@ class AccountServiceTest {
 		AccountMapper mapper = mock(AccountMapper.class);
 		CurrentUserService currentUserService = mock(CurrentUserService.class);
 		UserRepository userRepository = mock(UserRepository.class);
-		AccountService service = new AccountService(repository, mapper, currentUserService, userRepository);
+		AccountNumberAllocator allocator = mock(AccountNumberAllocator.class);
+		AccountService service = new AccountService(
+				repository,
+				mapper,
+				currentUserService,
+				userRepository,
+				allocator,
+				mock(OutboxWriter.class),
+				mock(AccountSummaryRepository.class),
+				mock(ApplicationEventPublisher.class)
+		);
 
 		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
-		when(repository.findAllByUser_Id("usr-1")).thenReturn(List.of(new AccountEntity()));
-		when(mapper.toResponse(any(AccountEntity.class))).thenReturn(new BankAccountResponse());
+		when(repository.findViewsByUserId("usr-1")).thenReturn(List.of(view("01234567", "usr-1")));
+		when(mapper.toResponse(any(AccountView.class))).thenReturn(new BankAccountResponse());
 
 		assertThat(service.list().getAccounts()).hasSize(1);
 	}
 
+	@Test
+	void listSummariesZeroesTotalsFromAnEarlierMonth() {
+		AccountRepository repository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		AccountSummaryRepository summaryRepository = mock(AccountSummaryRepository.class);
+		AccountService service = new AccountService(
+				repository,
+				Mappers.getMapper(AccountMapper.class),
+				currentUserService,
+				mock(UserRepository.class),
+				mock(AccountNumberAllocator.class),
+				mock(OutboxWriter.class),
+				summaryRepository,
+				mock(ApplicationEventPublisher.class)
+		);
+
+		LocalDate currentMonth = AccountSummaryEntity.monthStart(OffsetDateTime.now());
+		AccountSummaryEntity current = summary("01234567", currentMonth);
+		AccountSummaryEntity stale = summary("01765432", currentMonth.minusMonths(1));
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(summaryRepository.findAllByUserIdOrderById("usr-1")).thenReturn(List.of(current, stale));
+
+		List<AccountSummaryResponse> summaries = service.listSummaries().getSummaries();
+
+		assertThat(summaries).extracting(AccountSummaryResponse::getAccountNumber).containsExactly("01234567", "01765432");
+		assertThat(summaries.get(0).getMonthToDateIn()).isEqualByComparingTo("25.00");
+		assertThat(summaries.get(1).getMonthToDateIn()).isEqualByComparingTo("0");
+		assertThat(summaries.get(1).getMonthToDateOut()).isEqualByComparingTo("0");
+		assertThat(summaries.get(1).getMonthStart()).isEqualTo(currentMonth);
+		assertThat(summaries.get(1).getTransactionCount()).isEqualTo(3L);
+	}
+
+	@Test
+	void deleteClosesAccountAndLeavesPurgeForAfterCommit() {
+		AccountRepository repository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		AccountSummaryRepository summaryRepository = mock(AccountSummaryRepository.class);
+		ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+		AccountService service = new AccountService(
+				repository,
+				mock(AccountMapper.class),
+				currentUserService,
+				mock(UserRepository.class),
+				mock(AccountNumberAllocator.class),
+				mock(OutboxWriter.class),
+				summaryRepository,
+				eventPublisher
+		);
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(repository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"));
+
+		service.deleteByAccountNumber("01234567");
+
+		verify(repository).close(eq("01234567"), any(OffsetDateTime.class));
+		verify(repository, never()).delete(any(AccountEntity.class));
+		verify(summaryRepository).deleteById("01234567");
+		verify(eventPublisher).publishEvent(new AccountClosedEvent("01234567"));
+	}
+
 	@Test
 	void fetchByAccountNumberThrowsWhenNotOwner() {
 		AccountRepository repository = mock(AccountRepository.class);
 		AccountMapper mapper = mock(AccountMapper.class);
 		CurrentUserService currentUserService = mock(CurrentUserService.class);
 		UserRepository userRepository = mock(UserRepository.class);
-		AccountService service = new AccountService(repository, mapper, currentUserService, userRepository);
-
-		UserEntity other = new UserEntity();
-		other.setId("usr-other");
-		AccountEntity entity = new AccountEntity();
-		entity.setUser(other);
+		AccountNumberAllocator allocator = mock(AccountNumberAllocator.class);
+		AccountService service = new AccountService(
+				repository,
+				mapper,
+				currentUserService,
+				userRepository,
+				allocator,
+				mock(OutboxWriter.class),
+				mock(AccountSummaryRepository.class),
+				mock(ApplicationEventPublisher.class)
+		);
 
 		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
-		when(repository.findById("01234567")).thenReturn(Optional.of(entity));
+		when(repository.findViewById("01234567")).thenReturn(Optional.of(view("01234567", "usr-other")));
 
 		assertThatThrownBy(() -> service.fetchByAccountNumber("01234567"))
 				.isInstanceOf(AccessDeniedException.class)
 				.hasMessage("The user is not allowed to access the bank account details");
 	}
+
+	private static AccountSummaryEntity summary(String accountNumber, LocalDate monthStart) {
+		AccountSummaryEntity summary = new AccountSummaryEntity();
+		summary.setId(accountNumber);
+		summary.setUserId("usr-1");
+		summary.setBalance(new BigDecimal("15.00"));
+		summary.setCurrency("GBP");
+		summary.setTransactionCount(3);
+		summary.setMonthStart(monthStart);
+		summary.setMonthToDateIn(new BigDecimal("25.00"));
+		summary.setMonthToDateOut(new BigDecimal("10.00"));
+		return summary;
+	}
+
+	private static AccountView view(String accountNumber, String ownerId) {
+		return new AccountView(accountNumber, ownerId, "10-10-10", "Account", "personal", BigDecimal.ZERO, "GBP", null, null, 0L);
+	}
 }
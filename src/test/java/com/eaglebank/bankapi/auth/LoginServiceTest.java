@@ -0,0 +1,81 @@
+package com.eaglebank.bankapi.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.bankapi.error.TooManyRequestsException;
+import com.eaglebank.bankapi.throttle.TokenBucketLimiter;
+import com.eaglebank.bankapi.user.UserCredentials;
+import com.eaglebank.bankapi.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class LoginServiceTest {
+	private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+	@Test
+	void issuesATokenAfterOneLookupAndOneVerify() {
+		UserRepository userRepository = mock(UserRepository.class);
+		RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+		LoginService service = new LoginService(userRepository, passwordEncoder, refreshTokenService, throttle(100));
+		IssuedTokens tokens = new IssuedTokens("access", "refresh");
+
+		when(userRepository.findCredentialsByEmail("alice@example.com"))
+				.thenReturn(Optional.of(new UserCredentials("usr-1", passwordEncoder.encode("password123"))));
+		when(refreshTokenService.issue("alice@example.com", "usr-1")).thenReturn(tokens);
+
+		assertThat(service.login("alice@example.com", "password123", "10.0.0.1")).isEqualTo(tokens);
+		verify(userRepository, times(1)).findCredentialsByEmail("alice@example.com");
+		verify(userRepository, never()).findByEmail(anyString());
+	}
+
+	@Test
+	void rejectsUnknownEmailsAndWrongPasswordsAlike() {
+		UserRepository userRepository = mock(UserRepository.class);
+		LoginService service = new LoginService(userRepository, passwordEncoder, mock(RefreshTokenService.class), throttle(100));
+
+		when(userRepository.findCredentialsByEmail("alice@example.com"))
+				.thenReturn(Optional.of(new UserCredentials("usr-1", passwordEncoder.encode("password123"))));
+		when(userRepository.findCredentialsByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> service.login("alice@example.com", "wrong", "10.0.0.1"))
+				.isInstanceOf(AuthenticationCredentialsNotFoundException.class)
+				.hasMessage("Invalid email or password");
+		assertThatThrownBy(() -> service.login("nobody@example.com", "password123", "10.0.0.1"))
+				.isInstanceOf(AuthenticationCredentialsNotFoundException.class)
+				.hasMessage("Invalid email or password");
+	}
+
+	@Test
+	void throttlesRepeatedAttemptsBeforeTouchingTheDatabase() {
+		UserRepository userRepository = mock(UserRepository.class);
+		LoginService service = new LoginService(userRepository, passwordEncoder, mock(RefreshTokenService.class), throttle(1));
+
+		when(userRepository.findCredentialsByEmail("alice@example.com")).thenReturn(Optional.empty());
+		assertThatThrownBy(() -> service.login("alice@example.com", "wrong", "10.0.0.1"))
+				.isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+
+		assertThatThrownBy(() -> service.login("Alice@example.com", "wrong", "10.0.0.2"))
+				.isInstanceOf(TooManyRequestsException.class)
+				.hasMessage("Too many login attempts, retry later");
+		verify(userRepository, times(1)).findCredentialsByEmail(anyString());
+	}
+
+	private static LoginThrottle throttle(int emailBurst) {
+		return new LoginThrottle(
+				new TokenBucketLimiter(0.01, emailBurst, 100),
+				new TokenBucketLimiter(100, 100, 100),
+				new SimpleMeterRegistry()
+		);
+	}
+}
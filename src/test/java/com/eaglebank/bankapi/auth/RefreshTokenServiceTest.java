@@ -0,0 +1,98 @@
+package com.eaglebank.bankapi.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.bankapi.security.AccessToken;
+import com.eaglebank.bankapi.security.JwtService;
+import com.eaglebank.bankapi.security.TokenHashes;
+import com.eaglebank.bankapi.security.TokenRevocations;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+
+class RefreshTokenServiceTest {
+
+	@Test
+	void issuesAnOpaqueRefreshTokenAndStoresOnlyItsHash() {
+		RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+		JwtService jwtService = mock(JwtService.class);
+		RefreshTokenService service = service(repository, jwtService, mock(TokenRevocations.class));
+		when(jwtService.generateToken("alice@example.com", "usr-1")).thenReturn("access");
+
+		IssuedTokens tokens = service.issue("alice@example.com", "usr-1");
+
+		ArgumentCaptor<RefreshTokenEntity> saved = ArgumentCaptor.forClass(RefreshTokenEntity.class);
+		verify(repository).save(saved.capture());
+		assertThat(tokens.accessToken()).isEqualTo("access");
+		assertThat(saved.getValue().getId()).isEqualTo(TokenHashes.sha256(tokens.refreshToken()));
+		assertThat(saved.getValue().getUserId()).isEqualTo("usr-1");
+	}
+
+	@Test
+	void refreshConsumesTheTokenAndIssuesANewPair() {
+		RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+		JwtService jwtService = mock(JwtService.class);
+		RefreshTokenService service = service(repository, jwtService, mock(TokenRevocations.class));
+		String id = TokenHashes.sha256("refresh-1");
+
+		when(repository.findOwnerById(eq(id), any(OffsetDateTime.class)))
+				.thenReturn(Optional.of(new RefreshTokenOwner("usr-1", "alice@example.com")));
+		when(repository.consume(id)).thenReturn(1);
+		when(jwtService.generateToken("alice@example.com", "usr-1")).thenReturn("access");
+
+		IssuedTokens tokens = service.refresh("refresh-1");
+
+		assertThat(tokens.accessToken()).isEqualTo("access");
+		assertThat(tokens.refreshToken()).isNotEqualTo("refresh-1");
+	}
+
+	@Test
+	void rejectsARefreshTokenThatWasAlreadyUsed() {
+		RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+		JwtService jwtService = mock(JwtService.class);
+		RefreshTokenService service = service(repository, jwtService, mock(TokenRevocations.class));
+		String id = TokenHashes.sha256("refresh-1");
+
+		when(repository.findOwnerById(eq(id), any(OffsetDateTime.class)))
+				.thenReturn(Optional.of(new RefreshTokenOwner("usr-1", "alice@example.com")));
+		when(repository.consume(id)).thenReturn(0);
+
+		assertThatThrownBy(() -> service.refresh("refresh-1"))
+				.isInstanceOf(AuthenticationCredentialsNotFoundException.class)
+				.hasMessage("Refresh token is missing or invalid");
+		verify(jwtService, never()).generateToken(anyString(), anyString());
+	}
+
+	@Test
+	void logoutRevokesTheAccessTokenAndAllRefreshTokens() {
+		RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+		TokenRevocations revocations = mock(TokenRevocations.class);
+		RefreshTokenService service = service(repository, mock(JwtService.class), revocations);
+		Instant expiresAt = Instant.now().plusSeconds(600);
+
+		service.logout("usr-1", new AccessToken("usr-1", "jti-1", expiresAt));
+
+		verify(repository).deleteAllByUserId("usr-1");
+		verify(revocations).revoke("jti-1", expiresAt);
+	}
+
+	private static RefreshTokenService service(
+			RefreshTokenRepository repository,
+			JwtService jwtService,
+			TokenRevocations revocations
+	) {
+		return new RefreshTokenService(repository, jwtService, revocations, Duration.ofDays(30));
+	}
+}
@@ -0,0 +1,118 @@
+package com.eaglebank.bankapi.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ReplicaDataSourceTest {
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void readOnlyConnectionsRoundRobinAcrossReplicas() {
+		DataSource primary = mock(DataSource.class);
+		DataSource first = mock(DataSource.class);
+		DataSource second = mock(DataSource.class);
+		ReplicaDataSource replicas = new ReplicaDataSource(
+				primary,
+				List.of(first, second),
+				new ReadYourWritesTracker(Duration.ofSeconds(2), 100),
+				new SimpleMeterRegistry()
+		);
+
+		assertThat(List.of(replicas.choose(), replicas.choose(), replicas.choose()))
+				.containsExactly(first, second, first);
+	}
+
+	@Test
+	void recentWriterReadsFromPrimary() {
+		DataSource primary = mock(DataSource.class);
+		DataSource replica = mock(DataSource.class);
+		ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(2), 100);
+		ReplicaDataSource replicas = new ReplicaDataSource(primary, List.of(replica), tracker, new SimpleMeterRegistry());
+
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("usr-1", null, List.of()));
+		tracker.recordWrite("usr-1");
+
+		assertThat(replicas.choose()).isSameAs(primary);
+	}
+
+	@Test
+	void clientThatJustSignedUpAnonymouslyReadsFromPrimary() {
+		DataSource primary = mock(DataSource.class);
+		DataSource replica = mock(DataSource.class);
+		ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(2), 100);
+		ReplicaDataSource replicas = new ReplicaDataSource(primary, List.of(replica), tracker, new SimpleMeterRegistry());
+
+		MockHttpServletRequest signup = new MockHttpServletRequest("POST", "/v1/users");
+		signup.setRemoteAddr("203.0.113.7");
+		SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+				"key", "anonymousUser", List.of(new SimpleGrantedAuthority("ROLE_ANONYMOUS"))));
+		new ReadYourWritesInterceptor(tracker).afterCompletion(signup, new MockHttpServletResponse(), new Object(), null);
+
+		MockHttpServletRequest read = new MockHttpServletRequest("GET", "/v1/users/usr-1");
+		read.setRemoteAddr("203.0.113.7");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(read));
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("usr-1", null, List.of()));
+
+		assertThat(replicas.choose()).isSameAs(primary);
+		assertThat(tracker.recentlyWrote("anonymousUser")).isFalse();
+	}
+
+	@Test
+	void lazyProxySendsOnlyReadOnlyWorkToReplica() throws Exception {
+		DataSource primary = mock(DataSource.class);
+		DataSource replica = mock(DataSource.class);
+		Connection primaryConnection = mock(Connection.class);
+		Connection replicaConnection = mock(Connection.class);
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(replica.getConnection()).thenReturn(replicaConnection);
+
+		LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+		proxy.setDefaultAutoCommit(true);
+		proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+		proxy.setReadOnlyDataSource(new ReplicaDataSource(
+				primary,
+				List.of(replica),
+				new ReadYourWritesTracker(Duration.ofSeconds(2), 100),
+				new SimpleMeterRegistry()
+		));
+
+		try (Connection connection = proxy.getConnection()) {
+			connection.setReadOnly(true);
+			connection.createStatement();
+		}
+		verify(replicaConnection).createStatement();
+		verify(primaryConnection, never()).createStatement();
+
+		try (Connection connection = proxy.getConnection()) {
+			connection.createStatement();
+		}
+		verify(primaryConnection).createStatement();
+	}
+}
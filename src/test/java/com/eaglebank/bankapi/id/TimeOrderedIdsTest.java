@@ -0,0 +1,47 @@
+package com.eaglebank.bankapi.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdsTest {
+
+	@Test
+	void keepsPrefixAndHexBody() {
+		assertThat(TimeOrderedIds.next("tan-")).matches("^tan-[0-9a-f]{32}$");
+		assertThat(TimeOrderedIds.next("usr-")).matches("^usr-[0-9a-f]{32}$");
+	}
+
+	@Test
+	void idsSortInCreationOrder() {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			ids.add(TimeOrderedIds.next("tan-"));
+		}
+
+		assertThat(ids).isSorted().doesNotHaveDuplicates();
+	}
+
+	@Test
+	void tickStaysMonotonicWhenClockStepsBack() {
+		AtomicLong lastTick = new AtomicLong();
+		long first = TimeOrderedIds.nextTick(lastTick, 1_000_000);
+		long second = TimeOrderedIds.nextTick(lastTick, 999_000);
+
+		assertThat(second).isGreaterThan(first);
+	}
+
+	@Test
+	void sequenceOverflowBorrowsFromTheNextMillisecond() {
+		AtomicLong lastTick = new AtomicLong();
+		long tick = 0;
+		for (int i = 0; i <= 4096; i++) {
+			tick = TimeOrderedIds.nextTick(lastTick, 1_000_000);
+		}
+
+		assertThat(tick >>> 12).isEqualTo(1_000_001);
+	}
+}
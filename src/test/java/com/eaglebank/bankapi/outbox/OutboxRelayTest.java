@@ -0,0 +1,71 @@
+package com.eaglebank.bankapi.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class OutboxRelayTest {
+
+	@Test
+	void publishesThenDeletesAndDrainsFullBatches() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		OutboxSink sink = mock(OutboxSink.class);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		OutboxRelay relay = relay(jdbcTemplate, sink, registry);
+
+		List<OutboxEvent> full = List.of(event("evt-1"), event("evt-2"));
+		List<OutboxEvent> partial = List.of(event("evt-3"));
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2)))
+				.thenReturn(full)
+				.thenReturn(partial);
+
+		relay.relay();
+
+		verify(sink).publish(full);
+		verify(sink).publish(partial);
+		verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+		assertThat(registry.get("outbox.relay.published").counter().count()).isEqualTo(3.0);
+		assertThat(registry.get("outbox.relay.lag").timer().count()).isEqualTo(3);
+	}
+
+	@Test
+	void keepsEventsWhenSinkFails() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		OutboxSink sink = mock(OutboxSink.class);
+		OutboxRelay relay = relay(jdbcTemplate, sink, new SimpleMeterRegistry());
+
+		List<OutboxEvent> batch = List.of(event("evt-1"));
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2))).thenReturn(batch);
+		doThrow(new IllegalStateException("sink down")).when(sink).publish(batch);
+
+		assertThatThrownBy(relay::relay).isInstanceOf(IllegalStateException.class);
+		verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+	}
+
+	private static OutboxRelay relay(JdbcTemplate jdbcTemplate, OutboxSink sink, SimpleMeterRegistry registry) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+		return new OutboxRelay(jdbcTemplate, transactionTemplate, sink, registry, 2);
+	}
+
+	private static OutboxEvent event(String id) {
+		return new OutboxEvent(id, "account", "01234567", "transaction.created", "{}", OffsetDateTime.now());
+	}
+}
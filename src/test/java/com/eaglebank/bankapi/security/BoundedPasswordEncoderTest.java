@@ -0,0 +1,75 @@
+package com.eaglebank.bankapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.eaglebank.bankapi.error.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+	@Test
+	void hashesAndVerifiesOnThePoolAndRecordsLatency() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(registry, new BCryptPasswordEncoder(4), 1, 4);
+
+		String hash = encoder.encode("password123");
+
+		assertThat(encoder.matches("password123", hash)).isTrue();
+		assertThat(encoder.matches("wrong", hash)).isFalse();
+		assertThat(registry.get("password.hash.duration").tag("operation", "encode").timer().count()).isEqualTo(1);
+		assertThat(registry.get("password.hash.duration").tag("operation", "verify").timer().count()).isEqualTo(2);
+		assertThat(registry.get("password.hash.queue.wait").timer().count()).isEqualTo(3);
+	}
+
+	@Test
+	void rejectsWhenTheQueueIsFull() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(registry, blocking(started, release), 1, 1);
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+		while (registry.get("password.hash.queue.depth").gauge().value() < 1) {
+			Thread.onSpinWait();
+		}
+
+		assertThatThrownBy(() -> encoder.encode("c"))
+				.isInstanceOf(ServiceUnavailableException.class)
+				.hasMessage("The service is overloaded, retry later");
+		assertThat(registry.get("password.hash.rejected").counter().count()).isEqualTo(1.0);
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+		encoder.shutdown();
+	}
+
+	private static PasswordEncoder blocking(CountDownLatch started, CountDownLatch release) {
+		return new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return "hashed";
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return false;
+			}
+		};
+	}
+}
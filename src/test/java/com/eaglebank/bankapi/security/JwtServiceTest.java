@@ -0,0 +1,41 @@
+package com.eaglebank.bankapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+class JwtServiceTest {
+	private static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+
+	@Test
+	void resolvesTheUserIdAndTokenIdOnFirstAndRepeatedUse() {
+		JwtService jwtService = new JwtService(SECRET, 3600, 100);
+		String token = jwtService.generateToken("alice@example.com", "usr-1");
+
+		AccessToken first = jwtService.verify(token);
+
+		assertThat(first.principal()).isEqualTo("usr-1");
+		assertThat(first.jti()).isNotBlank();
+		assertThat(jwtService.verify(token)).isEqualTo(first);
+	}
+
+	@Test
+	void rejectsTokensSignedWithAnotherKey() {
+		JwtService jwtService = new JwtService(SECRET, 3600, 100);
+		JwtService other = new JwtService("other-secret-other-secret-other-secret-other", 3600, 100);
+		String token = other.generateToken("alice@example.com", "usr-1");
+		other.verify(token);
+
+		assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(JwtException.class);
+	}
+
+	@Test
+	void rejectsExpiredTokens() {
+		JwtService jwtService = new JwtService(SECRET, -1, 100);
+		String token = jwtService.generateToken("alice@example.com", "usr-1");
+
+		assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(JwtException.class);
+	}
+}
@@ -0,0 +1,108 @@
+package com.eaglebank.bankapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+class TokenRevocationsTest {
+
+	@Test
+	void revokedIdsAreDeniedOnceTheLogoutCommits() {
+		ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+		TokenRevocations revocations = revocations(mock(JdbcTemplate.class), eventPublisher);
+		Instant expiresAt = Instant.now().plusSeconds(60);
+
+		revocations.revoke("jti-1", expiresAt);
+
+		verify(eventPublisher).publishEvent(new TokenRevokedEvent("jti-1", expiresAt));
+		assertThat(revocations.isRevoked("jti-1")).isFalse();
+
+		revocations.onTokenRevoked(new TokenRevokedEvent("jti-1", expiresAt));
+
+		assertThat(revocations.isRevoked("jti-1")).isTrue();
+		assertThat(revocations.isRevoked("jti-2")).isFalse();
+		assertThat(revocations.isRevoked(null)).isFalse();
+	}
+
+	@Test
+	void refreshKeepsLiveRevocationsAndDropsExpiredOnes() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		TokenRevocations revocations = revocations(jdbcTemplate, mock(ApplicationEventPublisher.class));
+		revocations.onTokenRevoked(new TokenRevokedEvent("live", Instant.now().plusSeconds(60)));
+		revocations.onTokenRevoked(new TokenRevokedEvent("expired", Instant.now().minusSeconds(1)));
+
+		revocations.refresh();
+
+		assertThat(revocations.isRevoked("live")).isTrue();
+		assertThat(revocations.isRevoked("expired")).isFalse();
+		verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+	}
+
+	@Test
+	void refreshLoadsOnlyRevocationsNewerThanTheLastOnesSeen() throws Exception {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		TokenRevocations revocations = revocations(jdbcTemplate, mock(ApplicationEventPublisher.class));
+		OffsetDateTime revokedAt = OffsetDateTime.now(ZoneOffset.UTC);
+		ResultSet row = mock(ResultSet.class);
+		when(row.getString(1)).thenReturn("remote");
+		when(row.getObject(2, OffsetDateTime.class)).thenReturn(revokedAt.plusMinutes(15));
+		when(row.getObject(3, OffsetDateTime.class)).thenReturn(revokedAt);
+		doAnswer(invocation -> {
+			invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(OffsetDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC)), any());
+
+		revocations.refresh();
+		revocations.refresh();
+
+		assertThat(revocations.isRevoked("remote")).isTrue();
+		verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(revokedAt.minusSeconds(30)), any());
+	}
+
+	@Test
+	void purgeDeletesExpiredRows() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		TokenRevocations revocations = revocations(jdbcTemplate, mock(ApplicationEventPublisher.class));
+
+		revocations.purgeExpired();
+
+		verify(jdbcTemplate).update(eq("delete from revoked_tokens where expires_timestamp <= ?"), any(OffsetDateTime.class));
+	}
+
+	@Test
+	void bloomFilterHasNoFalseNegatives() {
+		BloomFilter filter = new BloomFilter(1000, 0.01);
+		for (int i = 0; i < 1000; i++) {
+			filter.put("jti-" + i);
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			assertThat(filter.mightContain("jti-" + i)).isTrue();
+		}
+		long falsePositives = IntStream.range(1000, 11_000)
+				.filter(i -> filter.mightContain("jti-" + i))
+				.count();
+		assertThat(falsePositives).isLessThan(300);
+	}
+
+	private static TokenRevocations revocations(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+		return new TokenRevocations(jdbcTemplate, eventPublisher, 1000, Duration.ofSeconds(30));
+	}
+}
@@ -0,0 +1,87 @@
+package com.eaglebank.bankapi.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.eaglebank.bankapi.throttle.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	@Test
+	void shedsReadsBeforeWrites() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AdaptiveConcurrencyLimiter limiter = limiter(registry, () -> 0, 10);
+
+		for (int i = 0; i < 8; i++) {
+			assertThat(limiter.tryAcquire(Priority.READ)).isTrue();
+		}
+
+		assertThat(limiter.tryAcquire(Priority.READ)).isFalse();
+		assertThat(limiter.tryAcquire(Priority.WRITE)).isTrue();
+		assertThat(limiter.tryAcquire(Priority.WRITE)).isTrue();
+		assertThat(limiter.tryAcquire(Priority.WRITE)).isFalse();
+		assertThat(registry.get("http.concurrency.shed").tag("priority", "read").counter().count()).isEqualTo(1.0);
+		assertThat(registry.get("http.concurrency.shed").tag("priority", "write").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void backsOffWhenRequestsWaitForConnections() {
+		AtomicInteger pending = new AtomicInteger(3);
+		AdaptiveConcurrencyLimiter limiter = limiter(new SimpleMeterRegistry(), pending::get, 20);
+
+		assertThat(limiter.tryAcquire(Priority.WRITE)).isTrue();
+		limiter.release(0);
+
+		assertThat(limiter.limit()).isCloseTo(18.0, within(0.001));
+		assertThat(limiter.inFlight()).isZero();
+	}
+
+	@Test
+	void backsOffOnSlowRequestsButNotBelowMinimum() throws InterruptedException {
+		AdaptiveConcurrencyLimiter limiter = limiter(new SimpleMeterRegistry(), () -> 0, 5);
+
+		for (int i = 0; i < 3; i++) {
+			Thread.sleep(2);
+			limiter.tryAcquire(Priority.WRITE);
+			limiter.release(Duration.ofSeconds(1).toNanos());
+		}
+
+		assertThat(limiter.limit()).isEqualTo(4.0);
+	}
+
+	@Test
+	void growsOnlyWhileTheLimitIsInUse() {
+		AdaptiveConcurrencyLimiter limiter = limiter(new SimpleMeterRegistry(), () -> 0, 10);
+
+		limiter.tryAcquire(Priority.WRITE);
+		limiter.release(0);
+		assertThat(limiter.limit()).isEqualTo(10.0);
+
+		for (int i = 0; i < 6; i++) {
+			limiter.tryAcquire(Priority.WRITE);
+		}
+		limiter.release(0);
+		assertThat(limiter.limit()).isCloseTo(10.1, within(0.001));
+	}
+
+	private static AdaptiveConcurrencyLimiter limiter(
+			SimpleMeterRegistry registry,
+			IntSupplier pendingConnections,
+			int initialLimit
+	) {
+		return new AdaptiveConcurrencyLimiter(
+				registry,
+				pendingConnections,
+				initialLimit,
+				4,
+				100,
+				0.8,
+				Duration.ofMillis(1)
+		);
+	}
+}
@@ -0,0 +1,82 @@
+package com.eaglebank.bankapi.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.bankapi.throttle.AdaptiveConcurrencyLimiter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ConcurrencyLimitFilterTest {
+
+	@Test
+	void shedsWithServiceUnavailableAndRetryAfter() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, new ObjectMapper());
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		when(limiter.tryAcquire(Priority.READ)).thenReturn(false);
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/v1/accounts"), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(response.getContentAsString()).contains("The service is overloaded, retry later");
+		assertThat(chain.getRequest()).isNull();
+		verify(limiter, never()).release(anyLong());
+	}
+
+	@Test
+	void admitsWritesAndReleasesThePermit() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, new ObjectMapper());
+		MockFilterChain chain = new MockFilterChain();
+
+		when(limiter.tryAcquire(Priority.WRITE)).thenReturn(true);
+
+		filter.doFilter(
+				new MockHttpServletRequest("POST", "/v1/accounts/01234567/transactions"),
+				new MockHttpServletResponse(),
+				chain
+		);
+
+		assertThat(chain.getRequest()).isNotNull();
+		verify(limiter).release(anyLong());
+	}
+
+	@Test
+	void reservesWritePriorityForPostings() {
+		assertThat(ConcurrencyLimitFilter.priorityOf(new MockHttpServletRequest("POST", "/v1/accounts/01234567/transactions")))
+				.isEqualTo(Priority.WRITE);
+		assertThat(ConcurrencyLimitFilter.priorityOf(new MockHttpServletRequest("POST", "/v1/accounts/01234567/transactions/batch")))
+				.isEqualTo(Priority.WRITE);
+		assertThat(ConcurrencyLimitFilter.priorityOf(new MockHttpServletRequest("GET", "/v1/accounts/01234567/transactions")))
+				.isEqualTo(Priority.READ);
+		assertThat(ConcurrencyLimitFilter.priorityOf(new MockHttpServletRequest("POST", "/v1/auth/login")))
+				.isEqualTo(Priority.READ);
+		assertThat(ConcurrencyLimitFilter.priorityOf(new MockHttpServletRequest("POST", "/v1/users")))
+				.isEqualTo(Priority.READ);
+		assertThat(ConcurrencyLimitFilter.priorityOf(new MockHttpServletRequest("PATCH", "/v1/accounts/01234567")))
+				.isEqualTo(Priority.READ);
+	}
+
+	@Test
+	void ignoresRequestsOutsideTheApi() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, new ObjectMapper());
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+		verify(limiter, never()).tryAcquire(Priority.READ);
+	}
+}
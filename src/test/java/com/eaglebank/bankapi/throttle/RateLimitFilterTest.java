@@ -0,0 +1,83 @@
+package com.eaglebank.bankapi.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.eaglebank.bankapi.throttle.RateLimitFilter.OperationClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class RateLimitFilterTest {
+	private final AtomicLong clock = new AtomicLong();
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(), registry, Map.of(
+			OperationClass.READ, new TokenBucketLimiter(1, 2, 100, clock::get),
+			OperationClass.WRITE, new TokenBucketLimiter(1, 1, 100, clock::get),
+			OperationClass.AUTH, new TokenBucketLimiter(1, 1, 100, clock::get)
+	));
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void rejectsAUserOverTheReadBudgetWithHeaders() throws Exception {
+		signIn("usr-1");
+
+		MockHttpServletResponse first = send("GET", "/v1/accounts/01234567/transactions");
+		MockHttpServletResponse second = send("GET", "/v1/accounts/01234567/transactions");
+		MockHttpServletResponse third = send("GET", "/v1/accounts/01234567/transactions");
+
+		assertThat(first.getStatus()).isEqualTo(200);
+		assertThat(first.getHeader("X-RateLimit-Limit")).isEqualTo("2");
+		assertThat(first.getHeader("X-RateLimit-Remaining")).isEqualTo("1");
+		assertThat(second.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+		assertThat(third.getStatus()).isEqualTo(429);
+		assertThat(third.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(third.getContentAsString()).contains("Too many requests, retry later");
+		assertThat(registry.get("http.ratelimit.rejected").tag("class", "read").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void keepsSeparateBudgetsPerUserAndOperationClass() throws Exception {
+		signIn("usr-1");
+		assertThat(send("POST", "/v1/accounts").getStatus()).isEqualTo(200);
+		assertThat(send("POST", "/v1/accounts").getStatus()).isEqualTo(429);
+		assertThat(send("GET", "/v1/accounts").getStatus()).isEqualTo(200);
+
+		signIn("usr-2");
+		assertThat(send("POST", "/v1/accounts").getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void classifiesAuthEndpointsSeparately() {
+		assertThat(RateLimitFilter.classify(new MockHttpServletRequest("POST", "/v1/auth/login")))
+				.isEqualTo(OperationClass.AUTH);
+		assertThat(RateLimitFilter.classify(new MockHttpServletRequest("HEAD", "/v1/accounts")))
+				.isEqualTo(OperationClass.READ);
+		assertThat(RateLimitFilter.classify(new MockHttpServletRequest("DELETE", "/v1/accounts/01234567")))
+				.isEqualTo(OperationClass.WRITE);
+	}
+
+	private MockHttpServletResponse send(String method, String uri) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain());
+		return response;
+	}
+
+	private static void signIn(String userId) {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				userId, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+	}
+}
@@ -0,0 +1,38 @@
+package com.eaglebank.bankapi.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketLimiterTest {
+
+	@Test
+	void allowsABurstThenOnePermitPerInterval() {
+		AtomicLong clock = new AtomicLong();
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 3, 100, clock::get);
+
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+		assertThat(limiter.tryAcquire("a")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(600));
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isPositive();
+	}
+
+	@Test
+	void keepsSeparateBucketsPerKey() {
+		AtomicLong clock = new AtomicLong();
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100, clock::get);
+
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isPositive();
+		assertThat(limiter.tryAcquire("b")).isZero();
+	}
+}
@@ -0,0 +1,182 @@
+package com.eaglebank.bankapi.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.bankapi.error.ConflictException;
+import com.eaglebank.generated.model.TransactionResponse;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class IdempotencyKeyServiceTest {
+
+	@Test
+	void replaysCachedResponseWithoutPostingAgain() {
+		IdempotencyKeyRepository keyRepository = mock(IdempotencyKeyRepository.class);
+		IdempotencyKeyService service = service(keyRepository, mock(TransactionRepository.class), mock(TransactionMapper.class));
+		AtomicInteger postings = new AtomicInteger();
+		TransactionResponse response = new TransactionResponse().id("tan-1");
+
+		when(keyRepository.findById("usr-1:key-1")).thenReturn(Optional.empty());
+
+		TransactionResponse first = service.execute("usr-1", "01234567", "key-1", "hash-1", keyId -> {
+			postings.incrementAndGet();
+			return response;
+		});
+		TransactionResponse second = service.execute("usr-1", "01234567", "key-1", "hash-1", keyId -> {
+			postings.incrementAndGet();
+			return new TransactionResponse().id("tan-2");
+		});
+
+		assertThat(first).isEqualTo(response);
+		assertThat(second).isEqualTo(response);
+		assertThat(postings).hasValue(1);
+	}
+
+	@Test
+	void returnsPersistedTransactionForKeyCommittedElsewhere() {
+		IdempotencyKeyRepository keyRepository = mock(IdempotencyKeyRepository.class);
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		IdempotencyKeyService service = service(keyRepository, transactionRepository, mapper);
+		TransactionEntity transaction = deposit("tan-1", "5.00");
+		TransactionView view = view("tan-1");
+		TransactionResponse response = new TransactionResponse().id("tan-1");
+
+		when(keyRepository.findById("usr-1:key-1"))
+				.thenReturn(Optional.empty())
+				.thenReturn(Optional.of(IdempotencyKeyEntity.of("usr-1:key-1", "usr-1", "01234567", transaction)));
+		when(transactionRepository.findViewByIdAndAccountId("tan-1", "01234567")).thenReturn(Optional.of(view));
+		when(mapper.toResponse(view)).thenReturn(response);
+
+		TransactionResponse result = service.execute("usr-1", "01234567", "key-1",
+				IdempotencyKeyEntity.requestHashOf(transaction), keyId -> {
+					throw new DataIntegrityViolationException("duplicate key");
+				});
+
+		assertThat(result).isEqualTo(response);
+	}
+
+	@Test
+	void replaysPostingThatHasBeenArchived() {
+		IdempotencyKeyRepository keyRepository = mock(IdempotencyKeyRepository.class);
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		TransactionArchive archive = mock(TransactionArchive.class);
+		IdempotencyKeyService service = service(keyRepository, transactionRepository, mapper, archive);
+		TransactionEntity transaction = deposit("tan-1", "5.00");
+		TransactionView view = view("tan-1");
+		TransactionResponse response = new TransactionResponse().id("tan-1");
+		AtomicInteger postings = new AtomicInteger();
+
+		when(keyRepository.findById("usr-1:key-1"))
+				.thenReturn(Optional.of(IdempotencyKeyEntity.of("usr-1:key-1", "usr-1", "01234567", transaction)));
+		when(transactionRepository.findViewByIdAndAccountId("tan-1", "01234567")).thenReturn(Optional.empty());
+		when(archive.holdsAny()).thenReturn(true);
+		when(archive.findView("tan-1", "01234567")).thenReturn(Optional.of(view));
+		when(mapper.toResponse(view)).thenReturn(response);
+
+		TransactionResponse result = service.execute("usr-1", "01234567", "key-1",
+				IdempotencyKeyEntity.requestHashOf(transaction), keyId -> {
+					postings.incrementAndGet();
+					return new TransactionResponse().id("tan-2");
+				});
+
+		assertThat(result).isEqualTo(response);
+		assertThat(postings).hasValue(0);
+	}
+
+	@Test
+	void rejectsKeyReusedForDifferentAccount() {
+		IdempotencyKeyRepository keyRepository = mock(IdempotencyKeyRepository.class);
+		IdempotencyKeyService service = service(keyRepository, mock(TransactionRepository.class), mock(TransactionMapper.class));
+
+		when(keyRepository.findById("usr-1:key-1")).thenReturn(Optional.empty());
+		service.execute("usr-1", "01234567", "key-1", "hash-1", keyId -> new TransactionResponse().id("tan-1"));
+
+		assertThatThrownBy(() -> service.execute(
+				"usr-1",
+				"01765432",
+				"key-1",
+				"hash-1",
+				keyId -> new TransactionResponse().id("tan-2")
+		))
+				.isInstanceOf(ConflictException.class)
+				.hasMessage("The idempotency key was already used for a different bank account");
+	}
+
+	@Test
+	void rejectsKeyReusedForDifferentRequest() {
+		IdempotencyKeyRepository keyRepository = mock(IdempotencyKeyRepository.class);
+		IdempotencyKeyService service = service(keyRepository, mock(TransactionRepository.class), mock(TransactionMapper.class));
+		String deposit = IdempotencyKeyEntity.requestHashOf(deposit("tan-1", "5.00"));
+		String largerDeposit = IdempotencyKeyEntity.requestHashOf(deposit("tan-2", "50.00"));
+
+		when(keyRepository.findById("usr-1:key-1")).thenReturn(Optional.empty());
+		service.execute("usr-1", "01234567", "key-1", deposit, keyId -> new TransactionResponse().id("tan-1"));
+
+		assertThatThrownBy(() -> service.execute(
+				"usr-1",
+				"01234567",
+				"key-1",
+				largerDeposit,
+				keyId -> new TransactionResponse().id("tan-2")
+		))
+				.isInstanceOf(ConflictException.class)
+				.hasMessage("The idempotency key was already used for a different request");
+	}
+
+	@Test
+	void requestHashComparesAmountsByValue() {
+		assertThat(IdempotencyKeyEntity.requestHashOf(deposit("tan-1", "5")))
+				.isEqualTo(IdempotencyKeyEntity.requestHashOf(deposit("tan-2", "5.00")));
+	}
+
+	private static TransactionEntity deposit(String id, String amount) {
+		TransactionEntity entity = new TransactionEntity();
+		entity.setId(id);
+		entity.setAmount(new BigDecimal(amount));
+		entity.setCurrency("GBP");
+		entity.setType("deposit");
+		return entity;
+	}
+
+	private static TransactionView view(String id) {
+		return new TransactionView(id, new BigDecimal("5.00"), "GBP", "deposit", null, "usr-1",
+				new BigDecimal("5.00"), OffsetDateTime.now());
+	}
+
+	private static IdempotencyKeyService service(
+			IdempotencyKeyRepository keyRepository,
+			TransactionRepository transactionRepository,
+			TransactionMapper mapper
+	) {
+		return service(keyRepository, transactionRepository, mapper, mock(TransactionArchive.class));
+	}
+
+	private static IdempotencyKeyService service(
+			IdempotencyKeyRepository keyRepository,
+			TransactionRepository transactionRepository,
+			TransactionMapper mapper,
+			TransactionArchive archive
+	) {
+		return new IdempotencyKeyService(
+				keyRepository,
+				transactionRepository,
+				mapper,
+				archive,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)),
+				100,
+				Duration.ofHours(24)
+		);
+	}
+}
@@ -0,0 +1,49 @@
+package com.eaglebank.bankapi.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class TransactionArchiveTest {
+
+	@Test
+	void assumesEverythingMayBeArchivedUntilTheBoundaryIsRead() {
+		TransactionArchive archive = new TransactionArchive(mock(JdbcTemplate.class));
+
+		assertThat(archive.holdsAny()).isTrue();
+		assertThat(archive.mayHoldRowsAfter(OffsetDateTime.now())).isTrue();
+	}
+
+	@Test
+	void skipsTheArchiveWhenNothingWasEverArchived() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		TransactionArchive archive = new TransactionArchive(jdbcTemplate);
+		when(jdbcTemplate.queryForObject(anyString(), eq(OffsetDateTime.class))).thenReturn(null);
+
+		archive.refresh();
+
+		assertThat(archive.holdsAny()).isFalse();
+		assertThat(archive.mayHoldRowsAfter(null)).isFalse();
+	}
+
+	@Test
+	void onlyPagesStartingBeforeTheBoundaryMayBeginInTheArchive() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		TransactionArchive archive = new TransactionArchive(jdbcTemplate);
+		OffsetDateTime boundary = OffsetDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		when(jdbcTemplate.queryForObject(anyString(), eq(OffsetDateTime.class))).thenReturn(boundary);
+
+		archive.refresh();
+
+		assertThat(archive.mayHoldRowsAfter(null)).isTrue();
+		assertThat(archive.mayHoldRowsAfter(boundary.minusSeconds(1))).isTrue();
+		assertThat(archive.mayHoldRowsAfter(boundary)).isFalse();
+	}
+}
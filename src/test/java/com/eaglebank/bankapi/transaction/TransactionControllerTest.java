@@ -1,6 +1,7 @@
 package com.eaglebank.bankapi.transaction;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -8,8 +9,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.eaglebank.bankapi.security.JwtService;
+import com.eaglebank.bankapi.security.TokenRevocations;
+import com.eaglebank.bankapi.throttle.AdaptiveConcurrencyLimiter;
+import com.eaglebank.bankapi.throttle.RateLimitFilter;
+import com.eaglebank.generated.model.CreateTransactionBatchRequest;
 import com.eaglebank.generated.model.CreateTransactionRequest;
 import com.eaglebank.generated.model.ListTransactionsResponse;
+import com.eaglebank.generated.model.TransactionBatchResponse;
 import com.eaglebank.generated.model.TransactionResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
@@ -39,9 +45,18 @@ class TransactionControllerTest {
 	@MockitoBean
 	private JwtService jwtService;
 
+	@MockitoBean
+	private TokenRevocations tokenRevocations;
+
+	@MockitoBean
+	private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+	@MockitoBean
+	private RateLimitFilter rateLimitFilter;
+
 	@Test
 	void createTransactionReturnsCreated() throws Exception {
-		when(transactionService.create(any(String.class), any(CreateTransactionRequest.class)))
+		when(transactionService.create(any(String.class), any(CreateTransactionRequest.class), isNull()))
 				.thenReturn(sampleResponse());
 
 		mockMvc.perform(post("/v1/accounts/01234567/transactions")
@@ -51,11 +66,26 @@ class TransactionControllerTest {
 				.andExpect(jsonPath("$.id").value("tan-abc123"));
 	}
 
+	@Test
+	void createTransactionBatchReturnsCreated() throws Exception {
+		when(transactionService.createBatch(any(String.class), any(CreateTransactionBatchRequest.class)))
+				.thenReturn(new TransactionBatchResponse().transactions(List.of(sampleResponse())));
+
+		CreateTransactionBatchRequest request = new CreateTransactionBatchRequest()
+				.transactions(List.of(sampleCreateRequest(), sampleCreateRequest()));
+
+		mockMvc.perform(post("/v1/accounts/01234567/transactions/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(request)))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.transactions[0].id").value("tan-abc123"));
+	}
+
 	@Test
 	void listTransactionsReturnsOk() throws Exception {
 		ListTransactionsResponse response = new ListTransactionsResponse()
 				.transactions(List.of(sampleResponse()));
-		when(transactionService.list("01234567")).thenReturn(response);
+		when(transactionService.list("01234567", 50, null)).thenReturn(response);
 
 		mockMvc.perform(get("/v1/accounts/01234567/transactions"))
 				.andExpect(status().isOk())
@@ -63,6 +93,20 @@ class TransactionControllerTest {
 				.andExpect(jsonPath("$.transactions[0].id").value("tan-abc123"));
 	}
 
+	@Test
+	void listTransactionsPassesPaginationParameters() throws Exception {
+		ListTransactionsResponse response = new ListTransactionsResponse()
+				.transactions(List.of(sampleResponse()))
+				.nextCursor("next-page");
+		when(transactionService.list("01234567", 10, "this-page")).thenReturn(response);
+
+		mockMvc.perform(get("/v1/accounts/01234567/transactions")
+						.param("limit", "10")
+						.param("after", "this-page"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.nextCursor").value("next-page"));
+	}
+
 	@Test
 	void fetchTransactionReturnsOk() throws Exception {
 		when(transactionService.fetchById("01234567", "tan-abc123")).thenReturn(sampleResponse());
@@ -0,0 +1,66 @@
+package com.eaglebank.bankapi.transaction;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.eaglebank.bankapi.account.AccountSummaryRepository;
+import com.eaglebank.bankapi.outbox.OutboxWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TransactionEventsTest {
+
+	@Test
+	void appendsOneEventPerPostingAndOneSummaryUpdatePerBatch() {
+		OutboxWriter outboxWriter = mock(OutboxWriter.class);
+		AccountSummaryRepository summaryRepository = mock(AccountSummaryRepository.class);
+		TransactionEvents events = new TransactionEvents(outboxWriter, mock(TransactionMapper.class), summaryRepository);
+		OffsetDateTime postedAt = OffsetDateTime.of(2026, 3, 31, 23, 30, 0, 0, ZoneOffset.ofHours(-2));
+
+		events.posted("01234567", List.of(
+				posting("deposit", "10.00", "10.00", postedAt),
+				posting("withdrawal", "4.00", "6.00", postedAt),
+				posting("deposit", "5.00", "11.00", postedAt)
+		));
+
+		verify(outboxWriter, times(3)).append(eq("account"), eq("01234567"), eq("transaction.created"), any());
+		verify(summaryRepository).recordPostings(
+				eq("01234567"),
+				argThat(balance -> balance.compareTo(new BigDecimal("11.00")) == 0),
+				eq(3L),
+				eq(postedAt),
+				eq(LocalDate.of(2026, 4, 1)),
+				argThat(credited -> credited.compareTo(new BigDecimal("15.00")) == 0),
+				argThat(debited -> debited.compareTo(new BigDecimal("4.00")) == 0)
+		);
+	}
+
+	@Test
+	void refusesToPublishAnUnstampedPosting() {
+		OutboxWriter outboxWriter = mock(OutboxWriter.class);
+		TransactionEvents events = new TransactionEvents(outboxWriter, mock(TransactionMapper.class), mock(AccountSummaryRepository.class));
+
+		assertThatThrownBy(() -> events.posted("01234567", List.of(posting("deposit", "10.00", "10.00", null))))
+				.isInstanceOf(NullPointerException.class);
+		verifyNoInteractions(outboxWriter);
+	}
+
+	private static TransactionEntity posting(String type, String amount, String balanceAfter, OffsetDateTime at) {
+		TransactionEntity entity = new TransactionEntity();
+		entity.setType(type);
+		entity.setAmount(new BigDecimal(amount));
+		entity.setBalanceAfter(new BigDecimal(balanceAfter));
+		entity.setCreatedTimestamp(at);
+		return entity;
+	}
+}
@@ -0,0 +1,284 @@
+package com.eaglebank.bankapi.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.eaglebank.bankapi.account.AccountEntity;
+import com.eaglebank.bankapi.account.AccountRepository;
+import com.eaglebank.bankapi.error.NotFoundException;
+import com.eaglebank.bankapi.error.ServiceUnavailableException;
+import com.eaglebank.bankapi.error.UnprocessableEntityException;
+import com.eaglebank.bankapi.user.UserEntity;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class TransactionGroupCommitterTest {
+
+	@Test
+	void concurrentPostingsShareOneBalanceUpdateAndInsertBatch() {
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionGroupCommitter committer = committer(accountRepository, transactionRepository);
+
+		AccountEntity account = account("usr-1", "10.00");
+		when(accountRepository.findByIdForUpdate("01234567")).thenReturn(Optional.of(account));
+
+		CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> submit(
+				committer, "usr-1", withdrawal("tan-1", "10.00")));
+		CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> submit(
+				committer, "usr-1", withdrawal("tan-2", "10.00")));
+
+		List<Object> outcomes = List.of(first.join(), second.join());
+
+		assertThat(outcomes).filteredOn(TransactionEntity.class::isInstance).hasSize(1);
+		assertThat(outcomes).filteredOn(UnprocessableEntityException.class::isInstance).hasSize(1);
+		assertThat(account.getBalance()).isEqualByComparingTo("0.00");
+		verify(accountRepository, times(1)).findByIdForUpdate("01234567");
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<TransactionEntity>> saved = ArgumentCaptor.forClass(List.class);
+		verify(transactionRepository, times(1)).saveAll(saved.capture());
+		assertThat(saved.getValue()).hasSize(1);
+		assertThat(saved.getValue().get(0).getCreatedTimestamp()).isNotNull();
+	}
+
+	@Test
+	void rejectsPostingsFromOtherUsersIndividually() {
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionGroupCommitter committer = committer(accountRepository, transactionRepository);
+
+		when(accountRepository.findByIdForUpdate("01234567")).thenReturn(Optional.of(account("usr-1", "0.00")));
+
+		assertThatThrownBy(() -> committer.submit("01234567", "usr-other", deposit("tan-1", "5.00"), null))
+				.isInstanceOf(AccessDeniedException.class);
+	}
+
+	@Test
+	void rejectsOnlyThePostingWhoseIdempotencyKeyIsAlreadyStored() {
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		IdempotencyKeyRepository keyRepository = mock(IdempotencyKeyRepository.class);
+		TransactionGroupCommitter committer = committer(accountRepository, transactionRepository, keyRepository);
+
+		AccountEntity account = account("usr-1", "0.00");
+		when(accountRepository.findByIdForUpdate("01234567")).thenReturn(Optional.of(account));
+		when(keyRepository.claim(eq("usr-1:taken"), eq("usr-1"), eq("01234567"), eq("tan-1"), anyString())).thenReturn(0);
+		when(keyRepository.claim(eq("usr-1:fresh"), eq("usr-1"), eq("01234567"), eq("tan-2"), anyString())).thenReturn(1);
+
+		CompletableFuture<Object> duplicate = CompletableFuture.supplyAsync(() -> submit(
+				committer, "usr-1", deposit("tan-1", "5.00"), "usr-1:taken"));
+		CompletableFuture<Object> fresh = CompletableFuture.supplyAsync(() -> submit(
+				committer, "usr-1", deposit("tan-2", "5.00"), "usr-1:fresh"));
+
+		assertThat(duplicate.join()).isInstanceOf(DuplicateKeyException.class);
+		assertThat(fresh.join()).isInstanceOf(TransactionEntity.class);
+		assertThat(account.getBalance()).isEqualByComparingTo("5.00");
+	}
+
+	@Test
+	void failsEveryPostingWhenAccountIsMissing() {
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionGroupCommitter committer = committer(accountRepository, transactionRepository);
+
+		when(accountRepository.findByIdForUpdate("01234567")).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> committer.submit("01234567", "usr-1", deposit("tan-1", "5.00"), null))
+				.isInstanceOf(NotFoundException.class)
+				.hasMessage("Bank account was not found");
+		verify(transactionRepository, times(0)).saveAll(anyList());
+	}
+
+	@Test
+	void withdrawsPostingAndAnswers503WhenFlushStalls() throws Exception {
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch flushed = new CountDownLatch(1);
+		TransactionGroupCommitter committer = committer(
+				accountRepository,
+				transactionRepository,
+				transactionManager,
+				Executors.newSingleThreadScheduledExecutor(),
+				Duration.ofMillis(50)
+		);
+
+		AccountEntity account = account("usr-1", "0.00");
+		when(accountRepository.findByIdForUpdate("01234567")).thenAnswer(invocation -> {
+			release.await();
+			return Optional.of(account);
+		});
+		doAnswer(invocation -> {
+			flushed.countDown();
+			return null;
+		}).when(transactionManager).commit(any());
+
+		assertThatThrownBy(() -> committer.submit("01234567", "usr-1", deposit("tan-1", "5.00"), null))
+				.isInstanceOf(ServiceUnavailableException.class)
+				.hasMessage(TransactionGroupCommitter.TIMED_OUT_MESSAGE);
+
+		release.countDown();
+		assertThat(flushed.await(5, TimeUnit.SECONDS)).isTrue();
+		verify(transactionRepository, never()).saveAll(anyList());
+		assertThat(account.getBalance()).isEqualByComparingTo("0.00");
+	}
+
+	@Test
+	void postingAlreadyBeingAppliedWaitsForItsRealOutcome() throws Exception {
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		CountDownLatch applying = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		// Hands the full batch to the flush and returns only once the flush has claimed the posting, so the
+		// caller's short wait is guaranteed to expire while the posting is being applied.
+		ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1) {
+			@Override
+			public void execute(Runnable command) {
+				super.execute(command);
+				try {
+					applying.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		TransactionGroupCommitter committer = committer(
+				accountRepository,
+				transactionRepository,
+				mock(PlatformTransactionManager.class),
+				scheduler,
+				Duration.ofMillis(1)
+		);
+
+		when(accountRepository.findByIdForUpdate("01234567")).thenReturn(Optional.of(account("usr-1", "0.00")));
+		when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			applying.countDown();
+			release.await();
+			return invocation.getArgument(0);
+		});
+
+		CompletableFuture<Object> outcome = CompletableFuture.supplyAsync(() -> submit(
+				committer, "usr-1", deposit("tan-1", "5.00")));
+
+		assertThatThrownBy(() -> outcome.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+		release.countDown();
+		assertThat(outcome.get(5, TimeUnit.SECONDS)).isInstanceOf(TransactionEntity.class);
+	}
+
+	private static Object submit(TransactionGroupCommitter committer, String userId, TransactionEntity entity) {
+		return submit(committer, userId, entity, null);
+	}
+
+	private static Object submit(
+			TransactionGroupCommitter committer,
+			String userId,
+			TransactionEntity entity,
+			String idempotencyKeyId
+	) {
+		try {
+			return committer.submit("01234567", userId, entity, idempotencyKeyId);
+		} catch (RuntimeException ex) {
+			return ex instanceof CompletionException ? ex.getCause() : ex;
+		}
+	}
+
+	private static TransactionGroupCommitter committer(
+			AccountRepository accountRepository,
+			TransactionRepository transactionRepository
+	) {
+		return committer(accountRepository, transactionRepository, mock(IdempotencyKeyRepository.class));
+	}
+
+	private static TransactionGroupCommitter committer(
+			AccountRepository accountRepository,
+			TransactionRepository transactionRepository,
+			IdempotencyKeyRepository keyRepository
+	) {
+		return new TransactionGroupCommitter(
+				accountRepository,
+				transactionRepository,
+				keyRepository,
+				mock(TransactionEvents.class),
+				new TransactionTemplate(mock(PlatformTransactionManager.class)),
+				200,
+				256,
+				Executors.newSingleThreadScheduledExecutor(),
+				Duration.ofSeconds(2),
+				Duration.ofSeconds(10)
+		);
+	}
+
+	// Full batches of one go straight to the scheduler, so the tests decide exactly when a flush runs.
+	private static TransactionGroupCommitter committer(
+			AccountRepository accountRepository,
+			TransactionRepository transactionRepository,
+			PlatformTransactionManager transactionManager,
+			ScheduledExecutorService scheduler,
+			Duration awaitTimeout
+	) {
+		return new TransactionGroupCommitter(
+				accountRepository,
+				transactionRepository,
+				mock(IdempotencyKeyRepository.class),
+				mock(TransactionEvents.class),
+				new TransactionTemplate(transactionManager),
+				200,
+				1,
+				scheduler,
+				awaitTimeout,
+				Duration.ofSeconds(10)
+		);
+	}
+
+	private static AccountEntity account(String ownerId, String balance) {
+		UserEntity user = new UserEntity();
+		user.setId(ownerId);
+		AccountEntity account = new AccountEntity();
+		account.setId("01234567");
+		account.setUser(user);
+		account.setBalance(new BigDecimal(balance));
+		return account;
+	}
+
+	private static TransactionEntity withdrawal(String id, String amount) {
+		TransactionEntity entity = deposit(id, amount);
+		entity.setType("withdrawal");
+		return entity;
+	}
+
+	private static TransactionEntity deposit(String id, String amount) {
+		TransactionEntity entity = new TransactionEntity();
+		entity.setId(id);
+		entity.setAmount(new BigDecimal(amount));
+		entity.setType("deposit");
+		return entity;
+	}
+}
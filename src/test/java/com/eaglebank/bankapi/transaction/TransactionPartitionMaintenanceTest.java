@@ -0,0 +1,22 @@
+package com.eaglebank.bankapi.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.YearMonth;
+import org.junit.jupiter.api.Test;
+
+class TransactionPartitionMaintenanceTest {
+
+	@Test
+	void partitionNamesRoundTripToTheirMonth() {
+		YearMonth month = YearMonth.of(2026, 3);
+
+		assertThat(TransactionPartitionMaintenance.partitionName(month)).isEqualTo("transactions_y2026m03");
+		assertThat(TransactionPartitionMaintenance.monthOf("transactions_y2026m03")).contains(month);
+	}
+
+	@Test
+	void ignoresPartitionsThatAreNotMonthly() {
+		assertThat(TransactionPartitionMaintenance.monthOf(TransactionPartitionMaintenance.DEFAULT_PARTITION)).isEmpty();
+	}
+}
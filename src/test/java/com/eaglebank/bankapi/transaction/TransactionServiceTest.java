@@ -1,21 +1,39 @@
 package com.eaglebank.bankapi.transaction;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.eaglebank.bankapi.account.AccountEntity;
+import com.eaglebank.bankapi.account.AccountOwnerCache;
 import com.eaglebank.bankapi.account.AccountRepository;
+import com.eaglebank.bankapi.error.BadRequestException;
+import com.eaglebank.bankapi.error.NotFoundException;
 import com.eaglebank.bankapi.error.UnprocessableEntityException;
 import com.eaglebank.bankapi.security.CurrentUserService;
 import com.eaglebank.bankapi.user.UserEntity;
+import com.eaglebank.bankapi.user.UserRepository;
+import com.eaglebank.generated.model.BalanceResponse;
+import com.eaglebank.generated.model.CreateTransactionBatchRequest;
 import com.eaglebank.generated.model.CreateTransactionRequest;
+import com.eaglebank.generated.model.ListTransactionsResponse;
+import com.eaglebank.generated.model.TransactionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 
 class TransactionServiceTest {
@@ -30,7 +48,21 @@ class TransactionServiceTest {
 				transactionRepository,
 				mapper,
 				accountRepository,
-				currentUserService
+				currentUserService,
+				ownerCache(accountRepository),
+				new TransactionPoster(
+						accountRepository,
+						transactionRepository,
+						mock(IdempotencyKeyRepository.class),
+						ownerCache(accountRepository),
+						mock(UserRepository.class),
+						mock(TransactionEvents.class),
+						PostingMode.OPTIMISTIC
+				),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.OPTIMISTIC
 		);
 
 		UserEntity user = new UserEntity();
@@ -53,13 +85,121 @@ class TransactionServiceTest {
 				new CreateTransactionRequest()
 						.amount(new BigDecimal("50.00"))
 						.currency(CreateTransactionRequest.CurrencyEnum.GBP)
-						.type(CreateTransactionRequest.TypeEnum.WITHDRAWAL)
+						.type(CreateTransactionRequest.TypeEnum.WITHDRAWAL),
+				null
 		))
 				.isInstanceOf(UnprocessableEntityException.class)
 				.hasMessage("Insufficient funds to process transaction");
 		verify(transactionRepository, never()).save(any(TransactionEntity.class));
 	}
 
+	@Test
+	void createAtomicWithdrawalThrowsWhenGuardedUpdateMatchesNoRow() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				new TransactionPoster(
+						accountRepository,
+						transactionRepository,
+						mock(IdempotencyKeyRepository.class),
+						ownerCache(accountRepository),
+						mock(UserRepository.class),
+						mock(TransactionEvents.class),
+						PostingMode.ATOMIC
+				),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.ATOMIC
+		);
+
+		TransactionEntity entity = new TransactionEntity();
+		entity.setAmount(new BigDecimal("50.00"));
+		entity.setType("withdrawal");
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"));
+		when(accountRepository.existsById("01234567")).thenReturn(true);
+		when(mapper.toEntity(any(CreateTransactionRequest.class))).thenReturn(entity);
+		when(accountRepository.debit(eq("01234567"), eq(new BigDecimal("50.00")), any(OffsetDateTime.class)))
+				.thenReturn(0);
+
+		assertThatThrownBy(() -> service.create(
+				"01234567",
+				new CreateTransactionRequest()
+						.amount(new BigDecimal("50.00"))
+						.currency(CreateTransactionRequest.CurrencyEnum.GBP)
+						.type(CreateTransactionRequest.TypeEnum.WITHDRAWAL),
+				null
+		))
+				.isInstanceOf(UnprocessableEntityException.class)
+				.hasMessage("Insufficient funds to process transaction");
+		verify(accountRepository, never()).save(any(AccountEntity.class));
+		verify(transactionRepository, never()).save(any(TransactionEntity.class));
+	}
+
+	@Test
+	void createAtomicDepositCreditsWithoutSavingAccount() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				new TransactionPoster(
+						accountRepository,
+						transactionRepository,
+						mock(IdempotencyKeyRepository.class),
+						ownerCache(accountRepository),
+						mock(UserRepository.class),
+						mock(TransactionEvents.class),
+						PostingMode.ATOMIC
+				),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.ATOMIC
+		);
+
+		TransactionEntity entity = new TransactionEntity();
+		entity.setAmount(new BigDecimal("25.00"));
+		entity.setType("deposit");
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"));
+		when(mapper.toEntity(any(CreateTransactionRequest.class))).thenReturn(entity);
+		when(accountRepository.credit(eq("01234567"), eq(new BigDecimal("25.00")), any(OffsetDateTime.class)))
+				.thenReturn(1);
+		when(accountRepository.findBalanceById("01234567")).thenReturn(new BigDecimal("25.00"));
+		when(transactionRepository.save(any(TransactionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(mapper.toResponse(any(TransactionEntity.class))).thenReturn(new TransactionResponse());
+
+		service.create(
+				"01234567",
+				new CreateTransactionRequest()
+						.amount(new BigDecimal("25.00"))
+						.currency(CreateTransactionRequest.CurrencyEnum.GBP)
+						.type(CreateTransactionRequest.TypeEnum.DEPOSIT),
+				null
+		);
+
+		verify(accountRepository).credit(eq("01234567"), eq(new BigDecimal("25.00")), any(OffsetDateTime.class));
+		verify(accountRepository, never()).save(any(AccountEntity.class));
+		verify(transactionRepository).save(entity);
+		assertThat(entity.getBalanceAfter()).isEqualByComparingTo("25.00");
+	}
+
 	@Test
 	void listThrowsWhenNotOwner() {
 		TransactionRepository transactionRepository = mock(TransactionRepository.class);
@@ -70,19 +210,486 @@ class TransactionServiceTest {
 				transactionRepository,
 				mapper,
 				accountRepository,
-				currentUserService
+				currentUserService,
+				ownerCache(accountRepository),
+				new TransactionPoster(
+						accountRepository,
+						transactionRepository,
+						mock(IdempotencyKeyRepository.class),
+						ownerCache(accountRepository),
+						mock(UserRepository.class),
+						mock(TransactionEvents.class),
+						PostingMode.ATOMIC
+				),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.ATOMIC
+		);
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-other"));
+
+		assertThatThrownBy(() -> service.list("01234567", 50, null))
+				.isInstanceOf(AccessDeniedException.class)
+				.hasMessage("The user is not allowed to access the transactions");
+	}
+
+	@Test
+	void listReturnsCursorWhenMoreTransactionsRemain() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				new TransactionPoster(
+						accountRepository,
+						transactionRepository,
+						mock(IdempotencyKeyRepository.class),
+						ownerCache(accountRepository),
+						mock(UserRepository.class),
+						mock(TransactionEvents.class),
+						PostingMode.ATOMIC
+				),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.ATOMIC
+		);
+
+		OffsetDateTime createdAt = OffsetDateTime.of(2026, 1, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"));
+		when(transactionRepository.findFirstPage(eq("01234567"), any(Pageable.class))).thenReturn(List.of(
+				transaction("tan-1", createdAt),
+				transaction("tan-2", createdAt),
+				transaction("tan-3", createdAt.plusMinutes(1))
+		));
+		when(mapper.toResponse(any(TransactionView.class))).thenReturn(new TransactionResponse());
+		when(transactionRepository.findPageAfter(eq("01234567"), eq(createdAt), eq("tan-2"), any(Pageable.class)))
+				.thenReturn(List.of(transaction("tan-3", createdAt.plusMinutes(1))));
+
+		ListTransactionsResponse first = service.list("01234567", 2, null);
+		assertThat(first.getTransactions()).hasSize(2);
+		assertThat(first.getNextCursor()).isNotBlank();
+
+		ListTransactionsResponse second = service.list("01234567", 2, first.getNextCursor());
+		assertThat(second.getTransactions()).hasSize(1);
+		assertThat(second.getNextCursor()).isNull();
+	}
+
+	@Test
+	void listOfAccountClosedOnAnotherNodeIsNotFoundDespiteCachedOwner() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				mock(TransactionPoster.class),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.ATOMIC
+		);
+
+		OffsetDateTime createdAt = OffsetDateTime.of(2026, 1, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"), Optional.empty());
+		when(transactionRepository.findFirstPage(eq("01234567"), any(Pageable.class)))
+				.thenReturn(List.of(transaction("tan-1", createdAt)), List.of());
+		when(mapper.toResponse(any(TransactionView.class))).thenReturn(new TransactionResponse());
+
+		assertThat(service.list("01234567", 50, null).getTransactions()).hasSize(1);
+
+		assertThatThrownBy(() -> service.list("01234567", 50, null))
+				.isInstanceOf(NotFoundException.class)
+				.hasMessage("Bank account was not found");
+		verify(accountRepository, times(2)).findOwnerIdById("01234567");
+	}
+
+	@Test
+	void listStartsInArchiveAndContinuesIntoHotTable() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionArchive archive = mock(TransactionArchive.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				mock(TransactionPoster.class),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				archive,
+				PostingMode.ATOMIC
+		);
+
+		OffsetDateTime archivedAt = OffsetDateTime.of(2024, 1, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+		OffsetDateTime createdAt = OffsetDateTime.of(2026, 1, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"));
+		when(archive.mayHoldRowsAfter(null)).thenReturn(true);
+		when(archive.findFirstPage("01234567", 3)).thenReturn(List.of(transaction("tan-1", archivedAt)));
+		when(transactionRepository.findFirstPage(eq("01234567"), any(Pageable.class))).thenReturn(List.of(
+				transaction("tan-2", createdAt),
+				transaction("tan-3", createdAt.plusMinutes(1))
+		));
+		when(mapper.toResponse(any(TransactionView.class)))
+				.thenAnswer(invocation -> new TransactionResponse().id(invocation.<TransactionView>getArgument(0).id()));
+
+		ListTransactionsResponse page = service.list("01234567", 2, null);
+
+		assertThat(page.getTransactions()).extracting(TransactionResponse::getId).containsExactly("tan-1", "tan-2");
+		assertThat(page.getNextCursor()).isNotBlank();
+	}
+
+	@Test
+	void listPastTheArchiveBoundaryReadsOnlyTheHotTable() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionArchive archive = mock(TransactionArchive.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				mock(TransactionPoster.class),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				archive,
+				PostingMode.ATOMIC
+		);
+
+		OffsetDateTime createdAt = OffsetDateTime.of(2026, 1, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+		String cursor = TransactionCursor.of(transaction("tan-1", createdAt)).encode();
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"));
+		when(archive.mayHoldRowsAfter(createdAt)).thenReturn(false);
+		when(transactionRepository.findPageAfter(eq("01234567"), eq(createdAt), eq("tan-1"), any(Pageable.class)))
+				.thenReturn(List.of(transaction("tan-2", createdAt.plusMinutes(1))));
+		when(mapper.toResponse(any(TransactionView.class))).thenReturn(new TransactionResponse());
+
+		assertThat(service.list("01234567", 2, cursor).getTransactions()).hasSize(1);
+		verify(archive, never()).findPageAfter(any(), any(), any(), anyInt());
+		verify(archive, never()).findFirstPage(any(), anyInt());
+	}
+
+	@Test
+	void fetchByIdFallsBackToArchive() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionArchive archive = mock(TransactionArchive.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				mock(TransactionPoster.class),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				archive,
+				PostingMode.ATOMIC
+		);
+
+		TransactionView archived = transaction("tan-1", OffsetDateTime.of(2024, 1, 1, 9, 30, 0, 0, ZoneOffset.UTC));
+		TransactionResponse response = new TransactionResponse().id("tan-1");
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"));
+		when(transactionRepository.findViewByIdAndAccountId("tan-1", "01234567")).thenReturn(Optional.empty());
+		when(archive.holdsAny()).thenReturn(true);
+		when(archive.findView("tan-1", "01234567")).thenReturn(Optional.of(archived));
+		when(mapper.toResponse(archived)).thenReturn(response);
+
+		assertThat(service.fetchById("01234567", "tan-1")).isEqualTo(response);
+	}
+
+	@Test
+	void listRejectsMalformedCursor() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				new TransactionPoster(
+						accountRepository,
+						transactionRepository,
+						mock(IdempotencyKeyRepository.class),
+						ownerCache(accountRepository),
+						mock(UserRepository.class),
+						mock(TransactionEvents.class),
+						PostingMode.ATOMIC
+				),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.ATOMIC
+		);
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findOwnerIdById("01234567")).thenReturn(Optional.of("usr-1"));
+
+		assertThatThrownBy(() -> service.list("01234567", 10, "not-a-cursor"))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessage("Invalid pagination cursor");
+	}
+
+	@Test
+	void createInGroupCommitModeSubmitsToCommitter() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionPoster poster = mock(TransactionPoster.class);
+		TransactionGroupCommitter groupCommitter = mock(TransactionGroupCommitter.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				poster,
+				groupCommitter,
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.GROUP_COMMIT
+		);
+
+		TransactionEntity entity = new TransactionEntity();
+		TransactionResponse response = new TransactionResponse().id("tan-1");
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(mapper.toEntity(any(CreateTransactionRequest.class))).thenReturn(entity);
+		when(groupCommitter.submit("01234567", "usr-1", entity, null)).thenReturn(entity);
+		when(mapper.toResponse(entity)).thenReturn(response);
+
+		assertThat(service.create("01234567", new CreateTransactionRequest(), null)).isEqualTo(response);
+		assertThat(entity.getId()).startsWith("tan-");
+		verify(poster, never()).post(any(), any(), any(), any());
+	}
+
+	@Test
+	void createBatchRollsBackWholeBatchWhenOneWithdrawalOverdraws() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				new TransactionPoster(
+						accountRepository,
+						transactionRepository,
+						mock(IdempotencyKeyRepository.class),
+						ownerCache(accountRepository),
+						mock(UserRepository.class),
+						mock(TransactionEvents.class),
+						PostingMode.ATOMIC
+				),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.ATOMIC
+		);
+
+		UserEntity user = new UserEntity();
+		user.setId("usr-1");
+		AccountEntity account = new AccountEntity();
+		account.setId("01234567");
+		account.setUser(user);
+		account.setBalance(new BigDecimal("10.00"));
+
+		CreateTransactionRequest deposit = new CreateTransactionRequest()
+				.amount(new BigDecimal("5.00"))
+				.currency(CreateTransactionRequest.CurrencyEnum.GBP)
+				.type(CreateTransactionRequest.TypeEnum.DEPOSIT);
+		CreateTransactionRequest withdrawal = new CreateTransactionRequest()
+				.amount(new BigDecimal("20.00"))
+				.currency(CreateTransactionRequest.CurrencyEnum.GBP)
+				.type(CreateTransactionRequest.TypeEnum.WITHDRAWAL);
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findByIdForUpdate("01234567")).thenReturn(Optional.of(account));
+		when(mapper.toEntity(deposit)).thenAnswer(invocation -> entity("deposit", "5.00"));
+		when(mapper.toEntity(withdrawal)).thenAnswer(invocation -> entity("withdrawal", "20.00"));
+
+		assertThatThrownBy(() -> service.createBatch(
+				"01234567",
+				new CreateTransactionBatchRequest().transactions(List.of(deposit, withdrawal))
+		))
+				.isInstanceOf(UnprocessableEntityException.class)
+				.hasMessage("Insufficient funds to process transaction");
+		verify(transactionRepository, never()).saveAll(anyList());
+	}
+
+	@Test
+	void createBatchSavesAllTransactionsAfterOneOwnershipCheck() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		TransactionMapper mapper = mock(TransactionMapper.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mapper,
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				new TransactionPoster(
+						accountRepository,
+						transactionRepository,
+						mock(IdempotencyKeyRepository.class),
+						ownerCache(accountRepository),
+						mock(UserRepository.class),
+						mock(TransactionEvents.class),
+						PostingMode.ATOMIC
+				),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.ATOMIC
 		);
 
-		UserEntity other = new UserEntity();
-		other.setId("usr-other");
+		UserEntity user = new UserEntity();
+		user.setId("usr-1");
 		AccountEntity account = new AccountEntity();
-		account.setUser(other);
+		account.setId("01234567");
+		account.setUser(user);
+		account.setBalance(new BigDecimal("10.00"));
+
+		CreateTransactionRequest request = new CreateTransactionRequest()
+				.amount(new BigDecimal("5.00"))
+				.currency(CreateTransactionRequest.CurrencyEnum.GBP)
+				.type(CreateTransactionRequest.TypeEnum.WITHDRAWAL);
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findByIdForUpdate("01234567")).thenReturn(Optional.of(account));
+		when(mapper.toEntity(request)).thenAnswer(invocation -> entity("withdrawal", "5.00"));
+		when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(mapper.toResponse(any(TransactionEntity.class))).thenReturn(new TransactionResponse());
+
+		assertThat(service.createBatch(
+				"01234567",
+				new CreateTransactionBatchRequest().transactions(List.of(request, request))
+		).getTransactions()).hasSize(2);
+		assertThat(account.getBalance()).isEqualByComparingTo("0.00");
+		verify(accountRepository).findByIdForUpdate("01234567");
+	}
+
+	@Test
+	void fetchBalanceAsOfReadsLatestRunningBalance() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mock(TransactionMapper.class),
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				mock(TransactionPoster.class),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.ATOMIC
+		);
+
+		UserEntity user = new UserEntity();
+		user.setId("usr-1");
+		AccountEntity account = new AccountEntity();
+		account.setId("01234567");
+		account.setUser(user);
+		account.setBalance(new BigDecimal("90.00"));
+		account.setCurrency("GBP");
+		OffsetDateTime asOf = OffsetDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
 
 		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
 		when(accountRepository.findById("01234567")).thenReturn(Optional.of(account));
+		when(transactionRepository.findBalanceAsOf(eq("01234567"), eq(asOf), any(Pageable.class)))
+				.thenReturn(List.of(new BigDecimal("40.00")));
 
-		assertThatThrownBy(() -> service.list("01234567"))
-				.isInstanceOf(AccessDeniedException.class)
-				.hasMessage("The user is not allowed to access the transactions");
+		BalanceResponse response = service.fetchBalance("01234567", asOf);
+
+		assertThat(response.getBalance()).isEqualByComparingTo("40.00");
+		assertThat(response.getAsOf()).isEqualTo(asOf);
+		assertThat(service.fetchBalance("01234567", null).getBalance()).isEqualByComparingTo("90.00");
+	}
+
+	@Test
+	void fetchBalanceBeforeFirstTransactionIsZero() {
+		TransactionRepository transactionRepository = mock(TransactionRepository.class);
+		AccountRepository accountRepository = mock(AccountRepository.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		TransactionService service = new TransactionService(
+				transactionRepository,
+				mock(TransactionMapper.class),
+				accountRepository,
+				currentUserService,
+				ownerCache(accountRepository),
+				mock(TransactionPoster.class),
+				mock(TransactionGroupCommitter.class),
+				mock(IdempotencyKeyService.class),
+				mock(TransactionArchive.class),
+				PostingMode.ATOMIC
+		);
+
+		UserEntity user = new UserEntity();
+		user.setId("usr-1");
+		AccountEntity account = new AccountEntity();
+		account.setId("01234567");
+		account.setUser(user);
+		account.setCurrency("GBP");
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-1");
+		when(accountRepository.findById("01234567")).thenReturn(Optional.of(account));
+		when(transactionRepository.findBalanceAsOf(eq("01234567"), any(OffsetDateTime.class), any(Pageable.class)))
+				.thenReturn(List.of());
+
+		assertThat(service.fetchBalance("01234567", OffsetDateTime.now()).getBalance()).isEqualByComparingTo("0");
+	}
+
+	private static AccountOwnerCache ownerCache(AccountRepository accountRepository) {
+		return new AccountOwnerCache(accountRepository, new SimpleMeterRegistry(), 64);
+	}
+
+	private static TransactionEntity entity(String type, String amount) {
+		TransactionEntity entity = new TransactionEntity();
+		entity.setType(type);
+		entity.setAmount(new BigDecimal(amount));
+		return entity;
+	}
+
+	private static TransactionView transaction(String id, OffsetDateTime createdTimestamp) {
+		return new TransactionView(id, BigDecimal.ONE, "GBP", "deposit", null, "usr-1", BigDecimal.ONE, createdTimestamp);
 	}
 }
@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -24,6 +25,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import com.eaglebank.bankapi.security.JwtService;
+import com.eaglebank.bankapi.security.TokenRevocations;
+import com.eaglebank.bankapi.throttle.AdaptiveConcurrencyLimiter;
+import com.eaglebank.bankapi.throttle.RateLimitFilter;
+import com.eaglebank.bankapi.web.Tagged;
 
 @WebMvcTest(UserController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -41,6 +46,15 @@ class UserControllerTest {
 	@MockitoBean
 	private JwtService jwtService;
 
+	@MockitoBean
+	private TokenRevocations tokenRevocations;
+
+	@MockitoBean
+	private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+	@MockitoBean
+	private RateLimitFilter rateLimitFilter;
+
 	@Test
 	void createUserReturnsCreated() throws Exception {
 		UserResponse response = sampleResponse();
@@ -57,10 +71,22 @@ class UserControllerTest {
 
 	@Test
 	void fetchUserReturnsOk() throws Exception {
-		when(userService.fetchById("usr-abc123")).thenReturn(sampleResponse());
+		when(userService.fetchById("usr-abc123")).thenReturn(new Tagged<>("\"1767225600000000\"", sampleResponse()));
 
 		mockMvc.perform(get("/v1/users/usr-abc123"))
 				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1767225600000000\""))
+				.andExpect(jsonPath("$.id").value("usr-abc123"));
+	}
+
+	@Test
+	void fetchUserReturnsBodyWhenETagIsStale() throws Exception {
+		when(userService.fetchETag("usr-abc123")).thenReturn("\"1767225600000001\"");
+		when(userService.fetchById("usr-abc123")).thenReturn(new Tagged<>("\"1767225600000001\"", sampleResponse()));
+
+		mockMvc.perform(get("/v1/users/usr-abc123").header("If-None-Match", "\"1767225600000000\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1767225600000001\""))
 				.andExpect(jsonPath("$.id").value("usr-abc123"));
 	}
 
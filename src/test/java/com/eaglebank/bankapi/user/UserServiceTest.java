@@ -4,11 +4,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.eaglebank.bankapi.error.ConflictException;
 import com.eaglebank.bankapi.error.NotFoundException;
+import com.eaglebank.bankapi.outbox.OutboxWriter;
 import com.eaglebank.bankapi.security.CurrentUserService;
 import com.eaglebank.generated.model.CreateUserRequest;
 import com.eaglebank.generated.model.CreateUserRequestAddress;
@@ -33,6 +35,7 @@ class UserServiceTest {
 				mapper,
 				currentUserService,
 				passwordEncoder,
+				mock(OutboxWriter.class),
 				"password123"
 		);
 
@@ -54,6 +57,33 @@ class UserServiceTest {
 		assertThat(result.getId()).isEqualTo("usr-test");
 	}
 
+	@Test
+	void createThrowsConflictWhenEmailExists() {
+		UserRepository repository = mock(UserRepository.class);
+		UserMapper mapper = mock(UserMapper.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+		UserService service = new UserService(
+				repository,
+				mapper,
+				currentUserService,
+				passwordEncoder,
+				mock(OutboxWriter.class),
+				"password123"
+		);
+
+		UserEntity entity = new UserEntity();
+		entity.setEmail("taken@example.com");
+		CreateUserRequest request = sampleCreateRequest();
+
+		when(mapper.toEntity(request)).thenReturn(entity);
+		when(repository.existsByEmail("taken@example.com")).thenReturn(true);
+
+		assertThatThrownBy(() -> service.create(request))
+				.isInstanceOf(ConflictException.class)
+				.hasMessage("A user with this email address already exists");
+	}
+
 	@Test
 	void fetchByIdThrowsWhenMissing() {
 		UserRepository repository = mock(UserRepository.class);
@@ -65,6 +95,7 @@ class UserServiceTest {
 				mapper,
 				currentUserService,
 				passwordEncoder,
+				mock(OutboxWriter.class),
 				"password123"
 		);
 
@@ -87,6 +118,7 @@ class UserServiceTest {
 				mapper,
 				currentUserService,
 				passwordEncoder,
+				mock(OutboxWriter.class),
 				"password123"
 		);
 
@@ -108,6 +140,7 @@ class UserServiceTest {
 				mapper,
 				currentUserService,
 				passwordEncoder,
+				mock(OutboxWriter.class),
 				"password123"
 		);
 
@@ -129,6 +162,7 @@ class UserServiceTest {
 				mapper,
 				currentUserService,
 				passwordEncoder,
+				mock(OutboxWriter.class),
 				"password123"
 		);
 
@@ -150,18 +184,71 @@ class UserServiceTest {
 				mapper,
 				currentUserService,
 				passwordEncoder,
+				mock(OutboxWriter.class),
 				"password123"
 		);
 
 		when(currentUserService.getCurrentUserId()).thenReturn("usr-has-accounts");
 		when(repository.existsById("usr-has-accounts")).thenReturn(true);
-		when(repository.countAccountsByUserId("usr-has-accounts")).thenReturn(1L);
+		when(repository.countOpenAccountsByUserId("usr-has-accounts")).thenReturn(1L);
 
 		assertThatThrownBy(() -> service.deleteById("usr-has-accounts"))
 				.isInstanceOf(ConflictException.class)
 				.hasMessage("A user cannot be deleted when they are associated with a bank account");
 	}
 
+	@Test
+	void deleteByIdMarksUserDeletedWhileClosedAccountsAwaitPurge() {
+		UserRepository repository = mock(UserRepository.class);
+		UserMapper mapper = mock(UserMapper.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+		UserService service = new UserService(
+				repository,
+				mapper,
+				currentUserService,
+				passwordEncoder,
+				mock(OutboxWriter.class),
+				"password123"
+		);
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-closed-only");
+		when(repository.existsById("usr-closed-only")).thenReturn(true);
+		when(repository.countOpenAccountsByUserId("usr-closed-only")).thenReturn(0L);
+		when(repository.countAccountsByUserId("usr-closed-only")).thenReturn(1L);
+
+		service.deleteById("usr-closed-only");
+
+		verify(repository).markDeleted("usr-closed-only");
+		verify(repository, never()).deleteById("usr-closed-only");
+	}
+
+	@Test
+	void deleteByIdRemovesUserWithoutAccounts() {
+		UserRepository repository = mock(UserRepository.class);
+		UserMapper mapper = mock(UserMapper.class);
+		CurrentUserService currentUserService = mock(CurrentUserService.class);
+		PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+		UserService service = new UserService(
+				repository,
+				mapper,
+				currentUserService,
+				passwordEncoder,
+				mock(OutboxWriter.class),
+				"password123"
+		);
+
+		when(currentUserService.getCurrentUserId()).thenReturn("usr-no-accounts");
+		when(repository.existsById("usr-no-accounts")).thenReturn(true);
+		when(repository.countOpenAccountsByUserId("usr-no-accounts")).thenReturn(0L);
+		when(repository.countAccountsByUserId("usr-no-accounts")).thenReturn(0L);
+
+		service.deleteById("usr-no-accounts");
+
+		verify(repository).deleteById("usr-no-accounts");
+		verify(repository, never()).markDeleted("usr-no-accounts");
+	}
+
 	@Test
 	void deleteByIdThrowsWhenNotOwner() {
 		UserRepository repository = mock(UserRepository.class);
@@ -173,6 +260,7 @@ class UserServiceTest {
 				mapper,
 				currentUserService,
 				passwordEncoder,
+				mock(OutboxWriter.class),
 				"password123"
 		);
 
@@ -0,0 +1,29 @@
+package com.eaglebank.bankapi.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class ETagsTest {
+
+	@Test
+	void timestampTagsKeepMicrosecondPrecisionOnly() {
+		OffsetDateTime timestamp = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 123_456_789, ZoneOffset.UTC);
+
+		assertThat(ETags.ofTimestamp(timestamp)).isEqualTo("\"1767225600123456\"");
+		assertThat(ETags.ofTimestamp(timestamp.withOffsetSameInstant(ZoneOffset.ofHours(2))))
+				.isEqualTo(ETags.ofTimestamp(timestamp));
+	}
+
+	@Test
+	void matchesAnyListedTagWithWeakComparison() {
+		String etag = ETags.ofVersion(7);
+
+		assertThat(ETags.matches("\"6\", W/\"7\"", etag)).isTrue();
+		assertThat(ETags.matches("*", etag)).isTrue();
+		assertThat(ETags.matches("\"6\"", etag)).isFalse();
+		assertThat(ETags.matches(null, etag)).isFalse();
+	}
+}
@@ -0,0 +1,93 @@
+package com.eaglebank.bankapi.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.eaglebank.bankapi.security.JwtService;
+import com.eaglebank.bankapi.security.TokenRevocations;
+import com.eaglebank.bankapi.throttle.AdaptiveConcurrencyLimiter;
+import com.eaglebank.bankapi.throttle.RateLimitFilter;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(OpenApiDocumentController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class OpenApiDocumentControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private JwtService jwtService;
+
+	@MockitoBean
+	private TokenRevocations tokenRevocations;
+
+	@MockitoBean
+	private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+	@MockitoBean
+	private RateLimitFilter rateLimitFilter;
+
+	@Test
+	void servesGzipVariantWithStrongETagAndRevalidation() throws Exception {
+		MvcResult result = mockMvc.perform(get("/openapi.yaml").header("Accept-Encoding", "gzip, deflate"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Encoding", "gzip"))
+				.andExpect(header().string("Vary", "Accept-Encoding"))
+				.andExpect(header().string("Cache-Control", "no-cache, public"))
+				.andReturn();
+
+		String etag = result.getResponse().getHeader("ETag");
+		assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+		byte[] body = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))
+				.readAllBytes();
+		assertThat(new String(body, StandardCharsets.UTF_8)).startsWith("openapi: 3.1.0");
+
+		mockMvc.perform(get("/openapi.yaml").header("Accept-Encoding", "gzip").header("If-None-Match", etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", etag));
+	}
+
+	@Test
+	void servesTheContentAddressedUrlAsImmutable() throws Exception {
+		String etag = mockMvc.perform(get("/openapi.yaml"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("Content-Encoding"))
+				.andReturn()
+				.getResponse()
+				.getHeader("ETag");
+		String version = etag.substring(1, etag.length() - 1);
+
+		mockMvc.perform(get("/openapi-" + version + ".yaml"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+		mockMvc.perform(get("/openapi-0123456789abcdef.yaml"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void honoursExplicitlyRefusedCodings() {
+		assertThat(OpenApiDocumentController.accepts("gzip;q=0, br", "gzip")).isFalse();
+		assertThat(OpenApiDocumentController.accepts("gzip;q=0.5", "gzip")).isTrue();
+		assertThat(OpenApiDocumentController.accepts(null, "gzip")).isFalse();
+	}
+
+	@Test
+	void wildcardCoversCodingsNotListedExplicitly() {
+		assertThat(OpenApiDocumentController.accepts("*", "br")).isTrue();
+		assertThat(OpenApiDocumentController.accepts("identity, *;q=0.1", "gzip")).isTrue();
+		assertThat(OpenApiDocumentController.accepts("gzip;q=0, *", "gzip")).isFalse();
+		assertThat(OpenApiDocumentController.accepts("gzip, *;q=0", "br")).isFalse();
+	}
+}